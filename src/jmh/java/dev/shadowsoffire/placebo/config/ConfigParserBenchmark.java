@@ -0,0 +1,85 @@
+package dev.shadowsoffire.placebo.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares loading a config file with {@link Configuration} against the previous line-based parser.
+ * <p>
+ * Run with {@code ./gradlew jmh -PenableJmh=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigParserBenchmark {
+
+    /**
+     * The number of categories in the generated file. Each category holds 20 properties and a 10 entry list.
+     */
+    @Param({ "10", "200" })
+    public int categories;
+
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.file = File.createTempFile("placebo_bench", ".cfg");
+        StringBuilder sb = new StringBuilder("# Generated benchmark config\n\n");
+        for (int c = 0; c < this.categories; c++) {
+            sb.append("\"Category ").append(c).append("\" {\n");
+            for (int p = 0; p < 20; p++) {
+                sb.append("    # The comment for property ").append(p).append('\n');
+                switch (p % 4) {
+                    case 0 -> sb.append("    I:\"Int Property ").append(p).append("\"=").append(p * 31).append('\n');
+                    case 1 -> sb.append("    D:double_").append(p).append('=').append(p / 7D).append('\n');
+                    case 2 -> sb.append("    B:bool_").append(p).append('=').append(p % 3 == 0).append('\n');
+                    default -> sb.append("    S:\"String Property ").append(p).append("\"=some value with = and # in it\n");
+                }
+                sb.append('\n');
+            }
+            sb.append("    S:list <\n");
+            for (int i = 0; i < 10; i++) {
+                sb.append("        minecraft:entry_").append(i).append('\n');
+            }
+            sb.append("     >\n}\n\n");
+        }
+        Files.writeString(this.file.toPath(), sb, StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    @Benchmark
+    public Configuration current() {
+        return new Configuration(this.file);
+    }
+
+    @Benchmark
+    public Map<String, ConfigCategory> legacy() throws IOException {
+        return LegacyConfigParser.parse(this.file, Configuration.DEFAULT_ENCODING);
+    }
+
+}
@@ -0,0 +1,186 @@
+package dev.shadowsoffire.placebo.config;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import dev.shadowsoffire.placebo.config.Configuration.UnicodeInputStreamReader;
+
+/**
+ * The line-based parser used by {@link Configuration#load()} before the single-pass tokenizer, kept as a baseline for {@link ConfigParserBenchmark}.
+ * <p>
+ * Produces the same categories and properties as the old parser, minus the bookkeeping that only applied to the owning {@link Configuration}.
+ */
+class LegacyConfigParser {
+
+    private static final Pattern CONFIG_START = Pattern.compile("START: \"([^\\\"]+)\"");
+    private static final Pattern CONFIG_END = Pattern.compile("END: \"([^\\\"]+)\"");
+
+    static Map<String, ConfigCategory> parse(File file, String encoding) throws IOException {
+        Map<String, ConfigCategory> categories = new TreeMap<>();
+        try (BufferedReader buffer = new BufferedReader(new UnicodeInputStreamReader(new FileInputStream(file), encoding))) {
+            String fileName = null;
+            String line;
+            ConfigCategory currentCat = null;
+            Property.Type type = null;
+            ArrayList<String> tmpList = null;
+            int lineNum = 0;
+            String name = null;
+
+            while (true) {
+                lineNum++;
+                line = buffer.readLine();
+
+                if (line == null) {
+                    break;
+                }
+
+                Matcher start = CONFIG_START.matcher(line);
+                Matcher end = CONFIG_END.matcher(line);
+
+                if (start.matches()) {
+                    fileName = start.group(1);
+                    categories = new TreeMap<>();
+                    continue;
+                }
+                else if (end.matches()) {
+                    fileName = end.group(1);
+                    continue;
+                }
+
+                int nameStart = -1, nameEnd = -1;
+                boolean skip = false;
+                boolean quoted = false;
+                boolean isFirstNonWhitespaceCharOnLine = true;
+
+                for (int i = 0; i < line.length() && !skip; ++i) {
+                    if (Character.isLetterOrDigit(line.charAt(i)) || Configuration.ALLOWED_CHARS.indexOf(line.charAt(i)) != -1 || quoted && line.charAt(i) != '"') {
+                        if (nameStart == -1) {
+                            nameStart = i;
+                        }
+
+                        nameEnd = i;
+                        isFirstNonWhitespaceCharOnLine = false;
+                    }
+                    else if (Character.isWhitespace(line.charAt(i))) {
+                        // ignore space characters
+                    }
+                    else {
+                        switch (line.charAt(i)) {
+                            case '#':
+                                if (tmpList != null) break;
+                                skip = true;
+                                continue;
+
+                            case '"':
+                                if (tmpList != null) break;
+                                if (quoted) {
+                                    quoted = false;
+                                }
+                                if (!quoted && nameStart == -1) {
+                                    quoted = true;
+                                }
+                                break;
+
+                            case '{':
+                                if (tmpList != null) break;
+                                name = line.substring(nameStart, nameEnd + 1).toLowerCase(Locale.ENGLISH);
+                                String qualifiedName = ConfigCategory.getQualifiedName(name, currentCat);
+
+                                ConfigCategory cat = categories.get(qualifiedName);
+                                if (cat == null) {
+                                    currentCat = new ConfigCategory(name, currentCat);
+                                    categories.put(qualifiedName, currentCat);
+                                }
+                                else {
+                                    currentCat = cat;
+                                }
+                                name = null;
+                                break;
+
+                            case '}':
+                                if (tmpList != null) break;
+                                if (currentCat == null) {
+                                    throw new RuntimeException(String.format("Config file corrupt, attempted to close to many categories '%s:%d'", fileName, lineNum));
+                                }
+                                currentCat = currentCat.parent;
+                                break;
+
+                            case '=':
+                                if (tmpList != null) break;
+                                name = line.substring(nameStart, nameEnd + 1);
+
+                                if (currentCat == null) {
+                                    throw new RuntimeException(String.format("'%s' has no scope in '%s:%d'", name, fileName, lineNum));
+                                }
+
+                                Property prop = new Property(name, line.substring(i + 1), type, true);
+                                i = line.length();
+                                currentCat.put(name, prop);
+                                break;
+
+                            case ':':
+                                if (tmpList != null) break;
+                                type = Property.Type.tryParse(line.substring(nameStart, nameEnd + 1).charAt(0));
+                                nameStart = nameEnd = -1;
+                                break;
+
+                            case '<':
+                                if (tmpList != null && i + 1 == line.length() || tmpList == null && i + 1 != line.length()) {
+                                    throw new RuntimeException(String.format("Malformed list property \"%s:%d\"", fileName, lineNum));
+                                }
+                                else if (i + 1 == line.length()) {
+                                    name = line.substring(nameStart, nameEnd + 1);
+
+                                    if (currentCat == null) {
+                                        throw new RuntimeException(String.format("'%s' has no scope in '%s:%d'", name, fileName, lineNum));
+                                    }
+
+                                    tmpList = new ArrayList<>();
+                                    skip = true;
+                                }
+                                break;
+
+                            case '>':
+                                if (tmpList == null) {
+                                    throw new RuntimeException(String.format("Malformed list property \"%s:%d\"", fileName, lineNum));
+                                }
+
+                                if (isFirstNonWhitespaceCharOnLine) {
+                                    currentCat.put(name, new Property(name, tmpList.toArray(new String[tmpList.size()]), type));
+                                    name = null;
+                                    tmpList = null;
+                                    type = null;
+                                }
+                                break;
+
+                            case '~':
+                                break;
+
+                            default:
+                                if (tmpList != null) break;
+                                throw new RuntimeException(String.format("Unknown character '%s' in '%s:%d'", line.charAt(i), fileName, lineNum));
+                        }
+                        isFirstNonWhitespaceCharOnLine = false;
+                    }
+                }
+
+                if (quoted) {
+                    throw new RuntimeException(String.format("Unmatched quote in '%s:%d'", fileName, lineNum));
+                }
+                else if (tmpList != null && !skip) {
+                    tmpList.add(line.trim());
+                }
+            }
+        }
+        return categories;
+    }
+
+}
@@ -7,11 +7,16 @@ import org.apache.logging.log4j.Logger;
 
 import dev.shadowsoffire.placebo.color.GradientColor;
 import dev.shadowsoffire.placebo.commands.PlaceboCommand;
+import dev.shadowsoffire.placebo.config.Configuration;
 import dev.shadowsoffire.placebo.events.ResourceReloadEvent;
 import dev.shadowsoffire.placebo.loot.StackLootEntry;
 import dev.shadowsoffire.placebo.network.PayloadHelper;
+import dev.shadowsoffire.placebo.payloads.BlockEntityDeltaPayload;
+import dev.shadowsoffire.placebo.payloads.BlockEntityResyncPayload;
 import dev.shadowsoffire.placebo.payloads.ButtonClickPayload;
+import dev.shadowsoffire.placebo.payloads.ConfigSyncPayload;
 import dev.shadowsoffire.placebo.payloads.PatreonDisablePayload;
+import dev.shadowsoffire.placebo.payloads.TrackedDataPayload;
 import dev.shadowsoffire.placebo.reload.ReloadListenerPayloads;
 import dev.shadowsoffire.placebo.systems.gear.GearSetRegistry;
 import dev.shadowsoffire.placebo.systems.mixes.MixRegistry;
@@ -28,9 +33,11 @@ import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.LogicalSide;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.neoforged.fml.loading.FMLEnvironment;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.AddReloadListenerEvent;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 import net.neoforged.neoforge.registries.RegisterEvent;
 
 @Mod(Placebo.MODID)
@@ -44,6 +51,9 @@ public class Placebo {
         bus.register(this);
         NeoForge.EVENT_BUS.addListener(this::registerCommands);
         NeoForge.EVENT_BUS.addListener(this::serverReload);
+        if (FMLEnvironment.dist.isDedicatedServer()) {
+            NeoForge.EVENT_BUS.addListener(ServerTickEvent.Pre.class, e -> Configuration.applyPendingReloads());
+        }
         TextColor.NAMED_COLORS = new HashMap<>(TextColor.NAMED_COLORS);
         bus.addListener(TabFillingRegistry::fillTabs);
         bus.register(new PayloadHelper());
@@ -55,6 +65,10 @@ public class Placebo {
     public void setup(FMLCommonSetupEvent e) {
         PayloadHelper.registerPayload(new ButtonClickPayload.Provider());
         PayloadHelper.registerPayload(new PatreonDisablePayload.Provider());
+        PayloadHelper.registerPayload(new ConfigSyncPayload.Provider());
+        PayloadHelper.registerPayload(new BlockEntityDeltaPayload.Provider());
+        PayloadHelper.registerPayload(new BlockEntityResyncPayload.Provider());
+        PayloadHelper.registerPayload(new TrackedDataPayload.Provider());
         PayloadHelper.registerPayload(new ReloadListenerPayloads.Start.Provider());
         PayloadHelper.registerPayload(new ReloadListenerPayloads.Content.Provider<>());
         PayloadHelper.registerPayload(new ReloadListenerPayloads.End.Provider());
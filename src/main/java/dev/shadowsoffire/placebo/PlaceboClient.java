@@ -2,11 +2,14 @@ package dev.shadowsoffire.placebo;
 
 import org.jetbrains.annotations.Nullable;
 
+import dev.shadowsoffire.placebo.config.ConfigSync;
+import dev.shadowsoffire.placebo.config.Configuration;
 import dev.shadowsoffire.placebo.events.ResourceReloadEvent;
 import dev.shadowsoffire.placebo.patreon.TrailsManager;
 import dev.shadowsoffire.placebo.patreon.WingsManager;
 import dev.shadowsoffire.placebo.patreon.wings.Wing;
 import dev.shadowsoffire.placebo.patreon.wings.WingLayer;
+import dev.shadowsoffire.placebo.tabs.TabFillingRegistry;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.model.PlayerModel;
 import net.minecraft.client.multiplayer.ClientLevel;
@@ -21,6 +24,7 @@ import net.neoforged.fml.LogicalSide;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.common.EventBusSubscriber.Bus;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
 import net.neoforged.neoforge.client.event.ClientTickEvent;
 import net.neoforged.neoforge.client.event.EntityRenderersEvent.AddLayers;
 import net.neoforged.neoforge.client.event.RegisterClientReloadListenersEvent;
@@ -37,6 +41,8 @@ public class PlaceboClient {
         TrailsManager.init();
         WingsManager.init(e);
         NeoForge.EVENT_BUS.addListener(PlaceboClient::tick);
+        NeoForge.EVENT_BUS.addListener(ClientPlayerNetworkEvent.LoggingOut.class, ev -> ConfigSync.restoreLocal());
+        NeoForge.EVENT_BUS.addListener(ClientPlayerNetworkEvent.LoggingOut.class, ev -> TabFillingRegistry.invalidate());
     }
 
     @SubscribeEvent
@@ -61,6 +67,7 @@ public class PlaceboClient {
 
     public static void tick(ClientTickEvent.Post e) {
         ticks++;
+        Configuration.applyPendingReloads();
     }
 
     public static float getColorTicks() {
@@ -1,11 +1,16 @@
 package dev.shadowsoffire.placebo;
 
+import dev.shadowsoffire.placebo.config.ConfigSync;
 import dev.shadowsoffire.placebo.config.Configuration;
+import dev.shadowsoffire.placebo.config.Property;
+import dev.shadowsoffire.placebo.util.PlaceboTaskQueue.WatchdogAction;
 
 public class PlaceboConfig {
 
     public static boolean clearWandererNormalTrades;
     public static boolean clearWandererRareTrades;
+    public static int taskBudgetMicros;
+    public static WatchdogAction taskWatchdogAction;
 
     public static void load() {
         Configuration cfg = new Configuration(Placebo.MODID);
@@ -13,10 +18,24 @@ public class PlaceboConfig {
 
         clearWandererNormalTrades = cfg.getBoolean("Clear Generic Trades", "wandering_trader", false, "If the generic trade list will be cleared before datapack loaded trades are added.\nServer-authoritative.");
         clearWandererRareTrades = cfg.getBoolean("Clear Rare Trades", "wandering_trader", false, "If the rare trade list will be cleared before datapack loaded trades are added.\nServer-authoritative.");
+        Property normalTrades = cfg.getCategory("wandering_trader").get("Clear Generic Trades").setSynced(true);
+        Property rareTrades = cfg.getCategory("wandering_trader").get("Clear Rare Trades").setSynced(true);
+
+        taskBudgetMicros = cfg.getInt("Task Budget", "task_queue", 0, 0, 1000000,
+            "The maximum time, in microseconds, that a single ticking task may take in one tick before the watchdog acts on it. 0 to disable the watchdog.");
+        String action = cfg.getString("Watchdog Action", "task_queue", "LOG",
+            "The action taken when a ticking task exceeds the task budget. LOG logs a warning; TERMINATE also removes the task.", new String[] { "LOG", "TERMINATE" });
+        taskWatchdogAction = "TERMINATE".equalsIgnoreCase(action) ? WatchdogAction.TERMINATE : WatchdogAction.LOG;
 
         if (cfg.hasChanged()) {
             cfg.save();
         }
+
+        ConfigSync.register(Placebo.MODID, cfg);
+        cfg.addChangeListener((category, prop) -> {
+            if (prop == normalTrades) clearWandererNormalTrades = prop.getBoolean();
+            else if (prop == rareTrades) clearWandererRareTrades = prop.getBoolean();
+        });
     }
 
 }
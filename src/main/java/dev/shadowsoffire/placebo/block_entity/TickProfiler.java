@@ -0,0 +1,188 @@
+package dev.shadowsoffire.placebo.block_entity;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.shadowsoffire.placebo.Placebo;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.common.EventBusSubscriber.Bus;
+import net.neoforged.fml.loading.FMLPaths;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+/**
+ * Optional per-type and per-dimension timing of server-side {@link TickingBlockEntity} ticks.
+ * <p>
+ * Profiling is disabled by default, and is controlled by {@code /placebo tick_profiler}. While disabled, the only cost to each tick is a single
+ * field read. Only block entities using a {@link TickingBlockEntityType} are profiled.
+ * <p>
+ * All methods other than {@link #isEnabled()} must be called on the server thread.
+ */
+public class TickProfiler {
+
+    private static final Map<Key, TickStats> STATS = new HashMap<>();
+
+    private static volatile boolean enabled = false;
+
+    /**
+     * {@return true if ticks are currently being profiled}
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts or stops profiling. Existing statistics are kept until {@link #reset()} is called.
+     */
+    public static void setEnabled(boolean enabled) {
+        TickProfiler.enabled = enabled;
+    }
+
+    /**
+     * Records a single tick of a block entity.
+     * <p>
+     * Callers which tick often should hold on to the accumulator from {@link #getStats} instead, which avoids a lookup per tick.
+     */
+    public static void record(BlockEntityType<?> type, ResourceKey<Level> dimension, long nanos) {
+        getStats(type, dimension).record(nanos);
+    }
+
+    /**
+     * Returns the live accumulator for a type within a dimension, creating it if needed.
+     * <p>
+     * Accumulators are never replaced, since {@link #reset()} clears them in place, so the result may be cached for as long as the type exists.
+     */
+    static TickStats getStats(BlockEntityType<?> type, ResourceKey<Level> dimension) {
+        return STATS.computeIfAbsent(new Key(type, dimension), k -> new TickStats());
+    }
+
+    /**
+     * Returns a snapshot of all recorded statistics, sorted by total time, highest first.
+     */
+    public static List<Map.Entry<Key, TickStats>> getSortedStats() {
+        List<Map.Entry<Key, TickStats>> list = new ArrayList<>(STATS.size());
+        STATS.forEach((key, stats) -> {
+            if (stats.getTicks() > 0) list.add(Map.entry(key, stats.copy()));
+        });
+        list.sort(Comparator.comparingLong((Map.Entry<Key, TickStats> e) -> e.getValue().getTotalNanos()).reversed());
+        return list;
+    }
+
+    /**
+     * Clears all recorded statistics.
+     */
+    public static void reset() {
+        STATS.values().forEach(TickStats::clear);
+    }
+
+    /**
+     * Writes all recorded statistics to a CSV file in the game directory.
+     *
+     * @return The path of the written file, relative to the game directory.
+     */
+    public static String exportCsv() throws IOException {
+        String path = "placebo/tick_profile_" + System.currentTimeMillis() + ".csv";
+        File file = new File(FMLPaths.GAMEDIR.get().toFile(), path);
+        file.getParentFile().mkdirs();
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+            writer.println("type,dimension,ticks,total_ns,avg_ns,max_ns");
+            for (Map.Entry<Key, TickStats> entry : getSortedStats()) {
+                TickStats stats = entry.getValue();
+                writer.println(String.join(",", entry.getKey().typeName(), entry.getKey().dimension().location().toString(), Long.toString(stats.getTicks()),
+                    Long.toString(stats.getTotalNanos()), Long.toString(stats.getAverageNanos()), Long.toString(stats.getMaxNanos())));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Profiling key, identifying a block entity type within a single dimension.
+     */
+    public static record Key(BlockEntityType<?> type, ResourceKey<Level> dimension) {
+
+        /**
+         * {@return the registry name of the type, or "unregistered" if it has none}
+         */
+        public String typeName() {
+            ResourceLocation id = BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(this.type);
+            return id == null ? "unregistered" : id.toString();
+        }
+    }
+
+    public static class TickStats {
+
+        private long ticks;
+        private long totalNanos;
+        private long maxNanos;
+
+        /**
+         * @return The number of ticks recorded.
+         */
+        public long getTicks() {
+            return this.ticks;
+        }
+
+        /**
+         * @return The total time, in nanoseconds, spent in the recorded ticks.
+         */
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        /**
+         * @return The longest single tick, in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return this.maxNanos;
+        }
+
+        /**
+         * @return The average time, in nanoseconds, of a single tick.
+         */
+        public long getAverageNanos() {
+            return this.ticks == 0 ? 0 : this.totalNanos / this.ticks;
+        }
+
+        void record(long nanos) {
+            this.ticks++;
+            this.totalNanos += nanos;
+            if (nanos > this.maxNanos) this.maxNanos = nanos;
+        }
+
+        void clear() {
+            this.ticks = 0;
+            this.totalNanos = 0;
+            this.maxNanos = 0;
+        }
+
+        TickStats copy() {
+            TickStats copy = new TickStats();
+            copy.ticks = this.ticks;
+            copy.totalNanos = this.totalNanos;
+            copy.maxNanos = this.maxNanos;
+            return copy;
+        }
+    }
+
+    @EventBusSubscriber(modid = Placebo.MODID, bus = Bus.GAME)
+    public static class Impl {
+
+        @SubscribeEvent
+        public static void stopped(ServerStoppedEvent e) {
+            enabled = false;
+            reset();
+        }
+    }
+
+}
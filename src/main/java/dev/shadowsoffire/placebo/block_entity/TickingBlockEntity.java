@@ -1,6 +1,8 @@
 package dev.shadowsoffire.placebo.block_entity;
 
 import dev.shadowsoffire.placebo.block_entity.TickingBlockEntityType.TickSide;
+import dev.shadowsoffire.placebo.network.BlockEntityDeltaSync;
+import dev.shadowsoffire.placebo.network.VanillaPacketDispatcher;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
@@ -34,4 +36,31 @@ public interface TickingBlockEntity {
      * @param state The block state of the block entity
      */
     public default void clientTick(Level level, BlockPos pos, BlockState state) {}
+
+    /**
+     * Checks if this block entity is asleep. Sleeping block entities are skipped by their ticker on both sides, until this method returns false again.
+     * <p>
+     * Idle machines can use this to avoid ticking until something changes, such as their inventory contents or a neighbor update.
+     * The block entity is responsible for waking itself, usually by clearing a flag from the relevant callback.
+     * <p>
+     * This is checked every tick while sleeping. To remove the ticker entirely, see {@link TickingBlockEntityType#sleep(BlockEntity)}.
+     *
+     * @return True if this block entity should not be ticked.
+     */
+    public default boolean isSleeping() {
+        return false;
+    }
+
+    /**
+     * Opts this block entity into delta syncing.
+     * <p>
+     * When true, {@link VanillaPacketDispatcher} remembers the last {@linkplain BlockEntity#getUpdateTag update tag} sent to each player, and
+     * only sends the top-level keys which have changed since. The client merges them into its copy of the tag and passes the result to
+     * {@link BlockEntity#handleUpdateTag}.
+     * <p>
+     * Block entities which opt in should call {@link BlockEntityDeltaSync#remove} from {@link BlockEntity#setRemoved()}.
+     */
+    public default boolean usesDeltaSync() {
+        return false;
+    }
 }
@@ -1,13 +1,20 @@
 package dev.shadowsoffire.placebo.block_entity;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.jetbrains.annotations.Nullable;
 
+import dev.shadowsoffire.placebo.block_entity.TickProfiler.TickStats;
+import it.unimi.dsi.fastutil.HashCommon;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityTicker;
 import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.chunk.LevelChunk;
 
 /**
  * A custom {@link BlockEntityType} that will automatically provide {@link BlockEntityTicker}s for {@linkplain TickingBlockEntity ticking block entities}.
@@ -18,10 +25,37 @@ import net.minecraft.world.level.block.entity.BlockEntityType;
 public class TickingBlockEntityType<T extends BlockEntity & TickingBlockEntity> extends BlockEntityType<T> {
 
     protected final TickSide side;
+    protected final int tickInterval;
+
+    /**
+     * Profiling accumulators for this type, cached per dimension. Only accessed from the server thread.
+     */
+    private final Map<ResourceKey<Level>, TickStats> stats = new IdentityHashMap<>();
 
     public TickingBlockEntityType(BlockEntitySupplier<? extends T> pFactory, Set<Block> pValidBlocks, TickSide side) {
+        this(pFactory, pValidBlocks, side, 1);
+    }
+
+    /**
+     * Creates a ticking block entity type which only ticks once every {@code tickInterval} ticks.
+     * <p>
+     * Instances are staggered by a hash of their position, so that a large number of them spread their work evenly across the interval
+     * instead of all ticking on the same game tick.
+     *
+     * @param tickInterval The number of game ticks between each tick of an instance. Must be at least 1.
+     */
+    public TickingBlockEntityType(BlockEntitySupplier<? extends T> pFactory, Set<Block> pValidBlocks, TickSide side, int tickInterval) {
         super(pFactory, pValidBlocks, null);
+        if (tickInterval < 1) throw new IllegalArgumentException("Tick interval must be at least 1, but was " + tickInterval);
         this.side = side;
+        this.tickInterval = tickInterval;
+    }
+
+    /**
+     * {@return the number of game ticks between each tick of an instance of this type}
+     */
+    public int getTickInterval() {
+        return this.tickInterval;
     }
 
     /**
@@ -32,14 +66,75 @@ public class TickingBlockEntityType<T extends BlockEntity & TickingBlockEntity>
     @Nullable
     public BlockEntityTicker<T> getTicker(boolean client) {
         if (client && this.side.ticksOnClient()) {
-            return (level, pos, state, entity) -> entity.clientTick(level, pos, state);
+            return this.schedule((level, pos, state, entity) -> entity.clientTick(level, pos, state));
         }
         else if (!client && this.side.ticksOnServer()) {
-            return (level, pos, state, entity) -> entity.serverTick(level, pos, state);
+            return this.schedule(this.profile((level, pos, state, entity) -> entity.serverTick(level, pos, state)));
         }
         return null;
     }
 
+    /**
+     * Wraps a ticker so that its execution time is recorded by the {@link TickProfiler} while profiling is enabled.
+     */
+    protected BlockEntityTicker<T> profile(BlockEntityTicker<T> ticker) {
+        return (level, pos, state, entity) -> {
+            if (!TickProfiler.isEnabled()) {
+                ticker.tick(level, pos, state, entity);
+                return;
+            }
+            long start = System.nanoTime();
+            ticker.tick(level, pos, state, entity);
+            long nanos = System.nanoTime() - start;
+            this.stats.computeIfAbsent(level.dimension(), dim -> TickProfiler.getStats(this, dim)).record(nanos);
+        };
+    }
+
+    /**
+     * Wraps a ticker so that it respects the {@linkplain #getTickInterval() tick interval} and skips {@linkplain TickingBlockEntity#isSleeping() sleeping} block entities.
+     * <p>
+     * Sleeping block entities still receive a call to the wrapped ticker every tick, which costs one {@link TickingBlockEntity#isSleeping()} check.
+     * Use {@link #sleep(BlockEntity)} to remove the ticker from the level entirely.
+     */
+    protected BlockEntityTicker<T> schedule(BlockEntityTicker<T> ticker) {
+        int interval = this.tickInterval;
+        if (interval == 1) {
+            return (level, pos, state, entity) -> {
+                if (!entity.isSleeping()) ticker.tick(level, pos, state, entity);
+            };
+        }
+        return (level, pos, state, entity) -> {
+            if (Math.floorMod(level.getGameTime() + HashCommon.mix(pos.asLong()), interval) == 0 && !entity.isSleeping()) {
+                ticker.tick(level, pos, state, entity);
+            }
+        };
+    }
+
+    /**
+     * Removes the ticker of a block entity from its level, so that it costs nothing per tick until {@link #wake(BlockEntity)} is called.
+     * <p>
+     * The ticker is restored when the chunk is reloaded or the block state changes, so long-sleeping block entities should also report
+     * {@link TickingBlockEntity#isSleeping()} as true. Must be called on the thread that owns the level.
+     */
+    public static void sleep(BlockEntity entity) {
+        Level level = entity.getLevel();
+        if (level == null || entity.isRemoved()) return;
+        LevelChunk chunk = level.getChunkAt(entity.getBlockPos());
+        chunk.removeBlockEntityTicker(entity.getBlockPos());
+    }
+
+    /**
+     * Restores the ticker of a block entity that was removed by {@link #sleep(BlockEntity)}. Does nothing if the block entity is already ticking.
+     * <p>
+     * Must be called on the thread that owns the level.
+     */
+    public static void wake(BlockEntity entity) {
+        Level level = entity.getLevel();
+        if (level == null || entity.isRemoved()) return;
+        LevelChunk chunk = level.getChunkAt(entity.getBlockPos());
+        chunk.updateBlockEntityTicker(entity);
+    }
+
     public static enum TickSide {
         CLIENT,
         SERVER,
@@ -0,0 +1,229 @@
+package dev.shadowsoffire.placebo.cap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.LongTag;
+import net.minecraft.nbt.NumericTag;
+import net.minecraft.nbt.Tag;
+import net.neoforged.neoforge.common.util.INBTSerializable;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+/**
+ * Thread-safe energy storage which holds a 64-bit amount of energy.
+ * <p>
+ * All changes to the stored energy are made with compare-and-set, so the storage may be used from multiple threads without external locking.
+ * The {@link IEnergyStorage} methods expose a saturated int view, where amounts above {@link Integer#MAX_VALUE} are reported as {@link Integer#MAX_VALUE}.
+ * The long-based methods provide access to the full range.
+ *
+ * @see ModifiableEnergyStorage for the non-thread-safe int variant.
+ */
+public class AtomicEnergyStorage implements IEnergyStorage, INBTSerializable<Tag> {
+
+    protected final AtomicLong energy;
+    protected final AtomicInteger modCount = new AtomicInteger();
+    /**
+     * Energy which has been received by an in-progress {@link #transfer}, but which may still be rolled back. It counts against the capacity,
+     * but may not be extracted.
+     */
+    protected final AtomicLong reserved = new AtomicLong();
+    protected volatile long capacity;
+    protected volatile long maxReceive;
+    protected volatile long maxExtract;
+
+    public AtomicEnergyStorage(long capacity) {
+        this(capacity, capacity, capacity, 0);
+    }
+
+    public AtomicEnergyStorage(long capacity, long maxTransfer) {
+        this(capacity, maxTransfer, maxTransfer, 0);
+    }
+
+    public AtomicEnergyStorage(long capacity, long maxReceive, long maxExtract) {
+        this(capacity, maxReceive, maxExtract, 0);
+    }
+
+    public AtomicEnergyStorage(long capacity, long maxReceive, long maxExtract, long energy) {
+        this.capacity = capacity;
+        this.maxReceive = maxReceive;
+        this.maxExtract = maxExtract;
+        this.energy = new AtomicLong(Math.max(0, Math.min(capacity, energy)));
+    }
+
+    /**
+     * Inserts up to {@code amount} energy, limited by the max receive rate and the remaining capacity.
+     *
+     * @return The amount of energy that was (or would have been, if simulated) received.
+     */
+    public long receiveLong(long amount, boolean simulate) {
+        if (amount <= 0 || this.maxReceive <= 0) return 0;
+        long limit = Math.min(amount, this.maxReceive);
+        while (true) {
+            long current = this.energy.get();
+            long received = Math.min(Math.max(0, this.capacity - current), limit);
+            if (received == 0 || simulate) return received;
+            if (this.energy.compareAndSet(current, current + received)) {
+                this.modCount.incrementAndGet();
+                return received;
+            }
+        }
+    }
+
+    /**
+     * Removes up to {@code amount} energy, limited by the max extract rate and the stored energy.
+     *
+     * @return The amount of energy that was (or would have been, if simulated) extracted.
+     */
+    public long extractLong(long amount, boolean simulate) {
+        if (amount <= 0 || this.maxExtract <= 0) return 0;
+        long limit = Math.min(amount, this.maxExtract);
+        while (true) {
+            // Energy must be read before the reservation, so that reserved energy is never seen as extractable.
+            long current = this.energy.get();
+            long extracted = Math.min(current - this.reserved.get(), limit);
+            if (extracted <= 0 || simulate) return Math.max(0, extracted);
+            if (this.energy.compareAndSet(current, current - extracted)) {
+                this.modCount.incrementAndGet();
+                return extracted;
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code amount} energy from one storage to another, respecting the extract rate of the source and the receive rate of the target.
+     * <p>
+     * The amount is first reserved in the target, then extracted from the source. If the source yields less than was reserved, the rest of the
+     * reservation is rolled back. Reserved energy can not be extracted from the target until the transfer completes, so the rollback always succeeds
+     * and energy is never created or destroyed, even with concurrent transfers and insertions.
+     *
+     * @return The amount of energy moved.
+     */
+    public static long transfer(AtomicEnergyStorage from, AtomicEnergyStorage to, long amount) {
+        long reserved = to.reserve(from.extractLong(amount, true));
+        if (reserved == 0) return 0;
+        long extracted = from.extractLong(reserved, false);
+        to.release(reserved, extracted);
+        return extracted;
+    }
+
+    /**
+     * Receives up to {@code amount} energy as a reservation, which is held until {@link #release} is called.
+     */
+    private long reserve(long amount) {
+        if (amount <= 0 || this.maxReceive <= 0) return 0;
+        long limit = Math.min(amount, this.maxReceive);
+        while (true) {
+            long current = this.energy.get();
+            long received = Math.min(Math.max(0, this.capacity - current), limit);
+            if (received == 0) return 0;
+            // The reservation must be published before the energy, so that extractors never see the energy without it.
+            this.reserved.addAndGet(received);
+            if (this.energy.compareAndSet(current, current + received)) {
+                this.modCount.incrementAndGet();
+                return received;
+            }
+            this.reserved.addAndGet(-received);
+        }
+    }
+
+    /**
+     * Ends a reservation, keeping {@code kept} energy and rolling back the rest.
+     */
+    private void release(long reserved, long kept) {
+        if (kept < reserved) {
+            this.energy.addAndGet(kept - reserved);
+            this.modCount.incrementAndGet();
+        }
+        this.reserved.addAndGet(-reserved);
+    }
+
+    /**
+     * {@return a counter which changes whenever the stored energy changes}
+     */
+    public int getModCount() {
+        return this.modCount.get();
+    }
+
+    /**
+     * {@return the stored energy, as a long}
+     */
+    public long getEnergyLong() {
+        return this.energy.get();
+    }
+
+    /**
+     * {@return the capacity, as a long}
+     */
+    public long getCapacityLong() {
+        return this.capacity;
+    }
+
+    public void setEnergy(long energy) {
+        this.energy.set(energy);
+        this.modCount.incrementAndGet();
+    }
+
+    public void setCapacity(long capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setTransferRate(long transfer) {
+        this.maxExtract = this.maxReceive = transfer;
+    }
+
+    public void setMaxExtract(long extract) {
+        this.maxExtract = extract;
+    }
+
+    public void setMaxReceive(long receive) {
+        this.maxReceive = receive;
+    }
+
+    @Override
+    public int receiveEnergy(int toReceive, boolean simulate) {
+        return (int) this.receiveLong(toReceive, simulate);
+    }
+
+    @Override
+    public int extractEnergy(int toExtract, boolean simulate) {
+        return (int) this.extractLong(toExtract, simulate);
+    }
+
+    @Override
+    public int getEnergyStored() {
+        return saturate(this.energy.get());
+    }
+
+    @Override
+    public int getMaxEnergyStored() {
+        return saturate(this.capacity);
+    }
+
+    @Override
+    public boolean canExtract() {
+        return this.maxExtract > 0;
+    }
+
+    @Override
+    public boolean canReceive() {
+        return this.maxReceive > 0;
+    }
+
+    @Override
+    public Tag serializeNBT(HolderLookup.Provider provider) {
+        return LongTag.valueOf(this.energy.get());
+    }
+
+    @Override
+    public void deserializeNBT(HolderLookup.Provider provider, Tag nbt) {
+        if (!(nbt instanceof NumericTag numeric)) throw new IllegalArgumentException("Can not deserialize to an instance that isn't the default implementation");
+        this.energy.set(numeric.getAsLong());
+        this.modCount.incrementAndGet();
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.min(Integer.MAX_VALUE, value);
+    }
+
+}
@@ -1,18 +1,65 @@
 package dev.shadowsoffire.placebo.cap;
 
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.Nullable;
+
 import dev.shadowsoffire.placebo.menu.FilteredSlot;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.items.ItemHandlerHelper;
 import net.neoforged.neoforge.items.ItemStackHandler;
 
 /**
  * Extension of {@link ItemStackHandler} which provides access to the unrestricted {@link #extractItem} and {@link #insertItem} methods.
  * <p>
  * Used by {@link FilteredSlot} so that menus may define their own logic that differs from the logic used by automation.
+ * <p>
+ * Also provides read-only views over the contents, which do not copy any stacks, and a {@linkplain #getChangeCount() change counter} which allows
+ * callers to skip rescanning the handler when nothing has changed.
+ * <p>
+ * Large handlers may opt into an item index, which maps each item to the set of slots holding it. The index is maintained in
+ * {@link #onContentsChanged} and allows {@link #insertItemStacked}, {@link #extractItemInternal(Item, int, boolean)} and the item queries
+ * to visit only candidate slots instead of scanning every slot.
  */
 public class InternalItemHandler extends ItemStackHandler {
 
+    protected int changeCount;
+
+    /**
+     * Map of items to the slots which hold them, or null if this handler is not indexed.
+     * <p>
+     * The index is a superset: a slot may remain listed after its stack is emptied by direct mutation, so candidates are always verified.
+     */
+    @Nullable
+    protected final Reference2ObjectMap<Item, BitSet> index;
+
+    /**
+     * The slots which were empty when last indexed, or null if this handler is not indexed.
+     */
+    @Nullable
+    protected final BitSet emptySlots;
+
+    /**
+     * The item each slot was last indexed with, or null for empty slots.
+     */
+    protected Item[] indexedItems;
+
     public InternalItemHandler(int size) {
+        this(size, false);
+    }
+
+    /**
+     * @param indexed If this handler should maintain an item index. Recommended for large handlers which are frequently searched.
+     */
+    public InternalItemHandler(int size, boolean indexed) {
         super(size);
+        this.index = indexed ? new Reference2ObjectOpenHashMap<>() : null;
+        this.emptySlots = indexed ? new BitSet() : null;
+        this.rebuildIndex();
     }
 
     public ItemStack extractItemInternal(int slot, int amount, boolean simulate) {
@@ -22,4 +69,286 @@ public class InternalItemHandler extends ItemStackHandler {
     public ItemStack insertItemInternal(int slot, ItemStack stack, boolean simulate) {
         return super.insertItem(slot, stack, simulate);
     }
+
+    /**
+     * Checks if {@link #extractItemInternal} would extract anything from the slot.
+     * <p>
+     * By default, this simulates an extraction of a single item from non-empty slots. Subclasses which do not restrict {@link #extractItemInternal}
+     * may override this to return {@code !isEmpty(slot)}, which avoids creating the simulated copy.
+     */
+    public boolean canExtractInternal(int slot) {
+        return !this.isEmpty(slot) && !this.extractItemInternal(slot, 1, true).isEmpty();
+    }
+
+    /**
+     * {@return true if the slot is empty}
+     */
+    public boolean isEmpty(int slot) {
+        this.validateSlotIndex(slot);
+        return this.stacks.get(slot).isEmpty();
+    }
+
+    /**
+     * {@return true if every slot is empty}
+     */
+    public boolean isEmpty() {
+        for (ItemStack stack : this.stacks) {
+            if (!stack.isEmpty()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * {@return the number of items in the slot}
+     */
+    public int getCount(int slot) {
+        this.validateSlotIndex(slot);
+        return this.stacks.get(slot).getCount();
+    }
+
+    /**
+     * {@return the total number of the given item across all slots}
+     */
+    public int countItem(Item item) {
+        int count = 0;
+        if (this.index != null) {
+            BitSet slots = this.index.get(item);
+            if (slots == null) return 0;
+            for (int i = slots.nextSetBit(0); i >= 0; i = slots.nextSetBit(i + 1)) {
+                ItemStack stack = this.stacks.get(i);
+                if (stack.is(item)) count += stack.getCount();
+            }
+            return count;
+        }
+
+        for (ItemStack stack : this.stacks) {
+            if (stack.is(item)) count += stack.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * {@return the first slot holding the given item, or -1 if there is none}
+     */
+    public int findFirst(Item item) {
+        if (this.index != null) {
+            BitSet slots = this.index.get(item);
+            if (slots == null) return -1;
+            for (int i = slots.nextSetBit(0); i >= 0; i = slots.nextSetBit(i + 1)) {
+                if (this.stacks.get(i).is(item)) return i;
+            }
+            return -1;
+        }
+
+        for (int i = 0; i < this.stacks.size(); i++) {
+            if (this.stacks.get(i).is(item)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Extracts up to {@code amount} of the given item, from as many slots as needed, using {@link #extractItemInternal(int, int, boolean)}.
+     * <p>
+     * Only stacks with the same components as the first extracted stack are combined into the result.
+     *
+     * @return The extracted items, or an empty stack if none of the item could be extracted.
+     */
+    public ItemStack extractItemInternal(Item item, int amount, boolean simulate) {
+        ItemStack result = ItemStack.EMPTY;
+        if (this.index == null) {
+            for (int slot = 0; slot < this.stacks.size() && result.getCount() < amount; slot++) {
+                result = this.extractMatching(slot, item, amount, result, simulate);
+            }
+            return result;
+        }
+
+        BitSet slots = this.index.get(item);
+        if (slots == null) return result;
+        // Emptied slots are cleared from the index as we go, which nextSetBit tolerates.
+        for (int slot = slots.nextSetBit(0); slot >= 0 && result.getCount() < amount; slot = slots.nextSetBit(slot + 1)) {
+            result = this.extractMatching(slot, item, amount, result, simulate);
+        }
+        return result;
+    }
+
+    /**
+     * Extracts from a single slot for {@link #extractItemInternal(Item, int, boolean)}, if it holds a stack that can be combined with the result so far.
+     *
+     * @return The combined result.
+     */
+    private ItemStack extractMatching(int slot, Item item, int amount, ItemStack result, boolean simulate) {
+        ItemStack existing = this.stacks.get(slot);
+        if (!existing.is(item) || !result.isEmpty() && !ItemStack.isSameItemSameComponents(result, existing)) return result;
+
+        ItemStack extracted = this.extractItemInternal(slot, amount - result.getCount(), simulate);
+        if (extracted.isEmpty()) return result;
+        if (result.isEmpty()) return extracted;
+        result.grow(extracted.getCount());
+        return result;
+    }
+
+    /**
+     * Inserts a stack into this handler using {@link #insertItemInternal}, filling matching stacks first and then empty slots.
+     * <p>
+     * Equivalent to {@link ItemHandlerHelper#insertItemStacked}, but only visits candidate slots when this handler is indexed.
+     *
+     * @return The remainder of the stack which could not be inserted.
+     */
+    public ItemStack insertItemStacked(ItemStack stack, boolean simulate) {
+        if (stack.isEmpty()) return stack;
+
+        if (this.index == null) {
+            return this.insertLinear(stack, simulate);
+        }
+
+        BitSet slots = this.index.get(stack.getItem());
+        if (slots != null) {
+            for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                ItemStack existing = this.stacks.get(slot);
+                if (existing.isEmpty()) {
+                    // The slot was emptied without notifying the handler. Reindex it so that the empty slot pass below can see it.
+                    this.updateIndex(slot);
+                }
+                else if (ItemStack.isSameItemSameComponents(existing, stack)) {
+                    stack = this.insertItemInternal(slot, stack, simulate);
+                    if (stack.isEmpty()) return ItemStack.EMPTY;
+                }
+            }
+        }
+
+        for (int slot = this.emptySlots.nextSetBit(0); slot >= 0; slot = this.emptySlots.nextSetBit(slot + 1)) {
+            if (this.stacks.get(slot).isEmpty()) {
+                stack = this.insertItemInternal(slot, stack, simulate);
+                if (stack.isEmpty()) return ItemStack.EMPTY;
+            }
+        }
+        return stack;
+    }
+
+    protected ItemStack insertLinear(ItemStack stack, boolean simulate) {
+        for (int slot = 0; slot < this.stacks.size(); slot++) {
+            if (ItemStack.isSameItemSameComponents(this.stacks.get(slot), stack)) {
+                stack = this.insertItemInternal(slot, stack, simulate);
+                if (stack.isEmpty()) return ItemStack.EMPTY;
+            }
+        }
+
+        for (int slot = 0; slot < this.stacks.size(); slot++) {
+            if (this.stacks.get(slot).isEmpty()) {
+                stack = this.insertItemInternal(slot, stack, simulate);
+                if (stack.isEmpty()) return ItemStack.EMPTY;
+            }
+        }
+        return stack;
+    }
+
+    /**
+     * {@return the total number of items matching the filter across all slots}
+     */
+    public int countMatching(Predicate<ItemStack> filter) {
+        int count = 0;
+        for (ItemStack stack : this.stacks) {
+            if (!stack.isEmpty() && filter.test(stack)) count += stack.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * Visits every non-empty slot in order.
+     * <p>
+     * The visitor receives the live stack in each slot, which must not be modified.
+     */
+    public void forEachStack(SlotVisitor visitor) {
+        for (int i = 0; i < this.stacks.size(); i++) {
+            ItemStack stack = this.stacks.get(i);
+            if (!stack.isEmpty()) visitor.visit(i, stack.getItem(), stack.getCount(), stack);
+        }
+    }
+
+    /**
+     * Returns a counter which changes every time the contents of this handler change.
+     * <p>
+     * Callers may cache the result of a scan alongside this value, and skip the next scan if it has not changed.
+     * Changes made by mutating a stack returned from {@link #getStackInSlot} directly are not tracked.
+     */
+    public int getChangeCount() {
+        return this.changeCount;
+    }
+
+    @Override
+    public void setSize(int size) {
+        super.setSize(size);
+        this.changeCount++;
+        this.rebuildIndex();
+    }
+
+    @Override
+    protected void onContentsChanged(int slot) {
+        super.onContentsChanged(slot);
+        this.changeCount++;
+        this.updateIndex(slot);
+    }
+
+    @Override
+    protected void onLoad() {
+        super.onLoad();
+        this.changeCount++;
+        this.rebuildIndex();
+    }
+
+    /**
+     * Updates the item index for a single slot.
+     */
+    protected void updateIndex(int slot) {
+        if (this.index == null) return;
+        ItemStack stack = this.stacks.get(slot);
+        Item old = this.indexedItems[slot];
+        Item now = stack.isEmpty() ? null : stack.getItem();
+        if (old == now) return;
+
+        if (old == null) {
+            this.emptySlots.clear(slot);
+        }
+        else {
+            BitSet slots = this.index.get(old);
+            slots.clear(slot);
+            if (slots.isEmpty()) this.index.remove(old);
+        }
+
+        if (now == null) {
+            this.emptySlots.set(slot);
+        }
+        else {
+            this.index.computeIfAbsent(now, k -> new BitSet()).set(slot);
+        }
+        this.indexedItems[slot] = now;
+    }
+
+    /**
+     * Rebuilds the item index from scratch.
+     */
+    protected void rebuildIndex() {
+        if (this.index == null) return;
+        this.index.clear();
+        this.emptySlots.clear();
+        this.indexedItems = new Item[this.stacks.size()];
+        for (int i = 0; i < this.stacks.size(); i++) {
+            this.emptySlots.set(i);
+            this.updateIndex(i);
+        }
+    }
+
+    @FunctionalInterface
+    public interface SlotVisitor {
+
+        /**
+         * Visits a non-empty slot.
+         *
+         * @param slot  The slot index
+         * @param item  The item in the slot
+         * @param count The number of items in the slot
+         * @param stack The live stack in the slot, which must not be modified
+         */
+        void visit(int slot, Item item, int count, ItemStack stack);
+    }
 }
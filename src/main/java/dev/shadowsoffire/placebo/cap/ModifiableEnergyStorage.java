@@ -1,9 +1,17 @@
 package dev.shadowsoffire.placebo.cap;
 
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.Tag;
 import net.neoforged.neoforge.energy.EnergyStorage;
 
 public class ModifiableEnergyStorage extends EnergyStorage {
 
+    /**
+     * Incremented by every method which changes the stored energy. Subclasses which write {@link #energy} directly must also increment it,
+     * or push mode menus tracking this storage will not sync the change.
+     */
+    protected int modCount;
+
     public ModifiableEnergyStorage(int capacity) {
         this(capacity, capacity, capacity, 0);
     }
@@ -22,6 +30,34 @@ public class ModifiableEnergyStorage extends EnergyStorage {
 
     public void setEnergy(int energy) {
         this.energy = energy;
+        this.modCount++;
+    }
+
+    @Override
+    public int receiveEnergy(int toReceive, boolean simulate) {
+        int received = super.receiveEnergy(toReceive, simulate);
+        if (!simulate && received != 0) this.modCount++;
+        return received;
+    }
+
+    @Override
+    public int extractEnergy(int toExtract, boolean simulate) {
+        int extracted = super.extractEnergy(toExtract, simulate);
+        if (!simulate && extracted != 0) this.modCount++;
+        return extracted;
+    }
+
+    @Override
+    public void deserializeNBT(HolderLookup.Provider provider, Tag nbt) {
+        super.deserializeNBT(provider, nbt);
+        this.modCount++;
+    }
+
+    /**
+     * {@return a counter which changes whenever the stored energy may have changed}
+     */
+    public int getModCount() {
+        return this.modCount;
     }
 
     public void setCapacity(int capacity) {
@@ -1,13 +1,19 @@
 package dev.shadowsoffire.placebo.codec;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+
 import com.google.common.collect.BiMap;
 import com.mojang.datafixers.util.Pair;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.DynamicOps;
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.RecordBuilder;
 
 import dev.shadowsoffire.placebo.Placebo;
 import net.minecraft.resources.ResourceLocation;
@@ -16,6 +22,9 @@ import net.minecraft.resources.ResourceLocation;
  * Map backed codec with optional default functionality.
  * <p>
  * Serialized objects are expected to declare their serializer in the top-level 'type' key.
+ * <p>
+ * When encoding, the type key of each codec is resolved once and cached. Codecs built from a {@link MapCodec}, such as those created by
+ * {@code RecordCodecBuilder}, write the 'type' key into the same record builder as their fields, instead of merging it into a copy of the encoded map.
  *
  * @see PlaceboCodecs#mapBacked(String, BiMap)
  * @see PlaceboCodecs#mapBackedDefaulted(String, BiMap, Codec)
@@ -27,6 +36,11 @@ public class MapBackedCodec<V extends CodecProvider<? super V>> implements Codec
     protected final BiMap<ResourceLocation, Codec<? extends V>> registry;
     protected final Supplier<Codec<? extends V>> defaultCodec;
 
+    /**
+     * Cache of resolved type keys. Registrations are never removed, so entries remain valid once resolved.
+     */
+    protected final Map<Codec<?>, TypeKey> typeKeys = new ConcurrentHashMap<>();
+
     /**
      * @see PlaceboCodecs#mapBacked(String, BiMap)
      * @param defaultCodec A supplier for the default codec. The supplier may not be null, but may return null.
@@ -57,12 +71,40 @@ public class MapBackedCodec<V extends CodecProvider<? super V>> implements Codec
     @Override
     public <T> DataResult<T> encode(V input, DynamicOps<T> ops, T prefix) {
         Codec<V> codec = (Codec<V>) input.getCodec();
-        ResourceLocation key = this.registry.inverse().get(codec);
-        if (key == null) {
+        TypeKey typeKey = this.resolveTypeKey(codec);
+        if (typeKey == null) {
             return DataResult.error(() -> "Attempted to serialize an element of type " + this.name + " with an unregistered codec! Object: " + input);
         }
-        T encodedKey = ResourceLocation.CODEC.encodeStart(ops, key).getOrThrow(IllegalStateException::new);
+
+        // Compressed ops encode map codecs as lists, which must go through the codec's own builder.
+        if (typeKey.mapCodec() != null && !ops.compressMaps()) {
+            RecordBuilder<T> builder = ops.mapBuilder();
+            builder.add("type", ops.createString(typeKey.id()));
+            return ((MapCodec<V>) typeKey.mapCodec()).encode(input, ops, builder).build(prefix);
+        }
+
+        T encodedKey = ops.createString(typeKey.id());
         T encodedObj = codec.encode(input, ops, prefix).getOrThrow(IllegalStateException::new);
         return ops.mergeToMap(encodedObj, ops.createString("type"), encodedKey);
     }
+
+    @Nullable
+    protected TypeKey resolveTypeKey(Codec<?> codec) {
+        TypeKey typeKey = this.typeKeys.get(codec);
+        if (typeKey == null) {
+            ResourceLocation key = this.registry.inverse().get(codec);
+            if (key == null) return null;
+            typeKey = new TypeKey(key.toString(), codec instanceof MapCodec.MapCodecCodec<?> mcc ? mcc.codec() : null);
+            this.typeKeys.put(codec, typeKey);
+        }
+        return typeKey;
+    }
+
+    /**
+     * A resolved type key.
+     *
+     * @param id       The serialized form of the codec's registry key.
+     * @param mapCodec The map codec backing the codec, if it has one.
+     */
+    protected static record TypeKey(String id, @Nullable MapCodec<?> mapCodec) {}
 }
@@ -0,0 +1,192 @@
+package dev.shadowsoffire.placebo.codec;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import com.mojang.serialization.Codec;
+
+import dev.shadowsoffire.placebo.Placebo;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.core.UUIDUtil;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.ComponentSerialization;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Derives compact {@link StreamCodec}s for records, as an alternative to {@link ByteBufCodecs#fromCodecWithRegistries}.
+ * <p>
+ * The derived stream codec writes each record component in declaration order with a binary codec chosen from the component's type, and reads
+ * them back through the canonical constructor. No field names or type tags are written.
+ * <p>
+ * Supported component types are primitives and their boxes, {@link String}, {@link ResourceLocation}, {@link UUID}, enums, {@link Component},
+ * {@link ItemStack}, nested records built from supported types, and {@link List}s and {@link Optional}s of supported types.
+ * <p>
+ * The derived codec is only valid if the record's data codec round-trips the record through its canonical constructor, which is the case for
+ * the usual {@code RecordCodecBuilder} pattern of {@code instance.group(...).apply(instance, MyRecord::new)}. Components must not be null.
+ */
+public class RecordStreamCodecs {
+
+    private static final Map<Class<?>, Optional<StreamCodec<RegistryFriendlyByteBuf, ?>>> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Records currently being derived on this thread, used to reject self-referential records.
+     */
+    private static final ThreadLocal<Set<Class<?>>> IN_PROGRESS = ThreadLocal.withInitial(HashSet::new);
+
+    /**
+     * Derives a stream codec for the record class, falling back to {@link ByteBufCodecs#fromCodecWithRegistries} on the codec if the type
+     * is not a record or has a component of an unsupported type.
+     *
+     * @param type  The record class.
+     * @param codec The data codec of the record, used as the fallback.
+     */
+    public static <T> StreamCodec<RegistryFriendlyByteBuf, T> deriveOrFallback(Class<T> type, Codec<T> codec) {
+        StreamCodec<RegistryFriendlyByteBuf, T> derived = derive(type);
+        if (derived == null) {
+            Placebo.LOGGER.debug("Unable to derive a stream codec for {}, falling back to the data codec.", type.getName());
+            return ByteBufCodecs.fromCodecWithRegistries(codec);
+        }
+        return derived;
+    }
+
+    /**
+     * Derives a stream codec for the record class.
+     *
+     * @return The derived stream codec, or null if the type is not a record, has a component of an unsupported type, or is not accessible.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> StreamCodec<RegistryFriendlyByteBuf, T> derive(Class<T> type) {
+        if (!type.isRecord()) return null;
+        Optional<StreamCodec<RegistryFriendlyByteBuf, ?>> cached = CACHE.get(type);
+        if (cached == null) {
+            // Not computeIfAbsent, since nested records recursively derive their own codecs.
+            if (!IN_PROGRESS.get().add(type)) return null;
+            try {
+                cached = Optional.ofNullable(create(type));
+            }
+            finally {
+                IN_PROGRESS.get().remove(type);
+            }
+            CACHE.putIfAbsent(type, cached);
+        }
+        return (StreamCodec<RegistryFriendlyByteBuf, T>) cached.orElse(null);
+    }
+
+    @Nullable
+    private static StreamCodec<RegistryFriendlyByteBuf, ?> create(Class<?> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        if (components == null) return null;
+
+        List<StreamCodec<RegistryFriendlyByteBuf, Object>> codecs = new ArrayList<>(components.length);
+        MethodHandle[] accessors = new MethodHandle[components.length];
+        Class<?>[] paramTypes = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            StreamCodec<RegistryFriendlyByteBuf, Object> codec = forType(components[i].getGenericType());
+            if (codec == null) return null;
+            codecs.add(codec);
+            paramTypes[i] = components[i].getType();
+        }
+
+        MethodHandle constructor;
+        try {
+            // All handles are adapted to erased types, so that they can be called with invokeExact.
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType accessorType = MethodType.methodType(Object.class, Object.class);
+            for (int i = 0; i < components.length; i++) {
+                accessors[i] = lookup.unreflect(components[i].getAccessor()).asType(accessorType);
+            }
+            Constructor<?> ctor = type.getDeclaredConstructor(paramTypes);
+            constructor = lookup.unreflectConstructor(ctor).asSpreader(Object[].class, components.length).asType(MethodType.methodType(Object.class, Object[].class));
+        }
+        catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+
+        return StreamCodec.<RegistryFriendlyByteBuf, Object>of((buf, value) -> {
+            try {
+                for (int i = 0; i < accessors.length; i++) {
+                    codecs.get(i).encode(buf, (Object) accessors[i].invokeExact(value));
+                }
+            }
+            catch (Throwable t) {
+                throw new RuntimeException("Failed to encode record " + type.getName(), t);
+            }
+        }, buf -> {
+            Object[] args = new Object[accessors.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = codecs.get(i).decode(buf);
+            }
+            try {
+                return (Object) constructor.invokeExact(args);
+            }
+            catch (Throwable t) {
+                throw new RuntimeException("Failed to decode record " + type.getName(), t);
+            }
+        });
+    }
+
+    /**
+     * Resolves the stream codec for a single component type.
+     */
+    @Nullable
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static StreamCodec<RegistryFriendlyByteBuf, Object> forType(Type type) {
+        if (type instanceof ParameterizedType param && param.getRawType() instanceof Class<?> raw) {
+            if (raw != List.class && raw != Optional.class) return null;
+            StreamCodec<RegistryFriendlyByteBuf, Object> element = forType(param.getActualTypeArguments()[0]);
+            if (element == null) return null;
+            return (StreamCodec) (raw == List.class ? element.apply(ByteBufCodecs.list()) : ByteBufCodecs.optional(element));
+        }
+
+        if (!(type instanceof Class<?> clazz)) return null;
+        StreamCodec<?, ?> codec;
+        if (clazz == int.class || clazz == Integer.class) codec = ByteBufCodecs.VAR_INT;
+        else if (clazz == long.class || clazz == Long.class) codec = ByteBufCodecs.VAR_LONG;
+        else if (clazz == float.class || clazz == Float.class) codec = ByteBufCodecs.FLOAT;
+        else if (clazz == double.class || clazz == Double.class) codec = ByteBufCodecs.DOUBLE;
+        else if (clazz == boolean.class || clazz == Boolean.class) codec = ByteBufCodecs.BOOL;
+        else if (clazz == byte.class || clazz == Byte.class) codec = ByteBufCodecs.BYTE;
+        else if (clazz == short.class || clazz == Short.class) codec = ByteBufCodecs.SHORT;
+        else if (clazz == String.class) codec = ByteBufCodecs.STRING_UTF8;
+        else if (clazz == ResourceLocation.class) codec = ResourceLocation.STREAM_CODEC;
+        else if (clazz == UUID.class) codec = UUIDUtil.STREAM_CODEC;
+        else if (clazz == Component.class) codec = ComponentSerialization.STREAM_CODEC;
+        else if (clazz == ItemStack.class) codec = ItemStack.OPTIONAL_STREAM_CODEC;
+        else if (clazz.isEnum()) codec = enumCodec((Class) clazz);
+        else if (clazz.isRecord()) codec = derive((Class) clazz);
+        else codec = null;
+        return (StreamCodec<RegistryFriendlyByteBuf, Object>) codec;
+    }
+
+    private static <E extends Enum<E>> StreamCodec<RegistryFriendlyByteBuf, E> enumCodec(Class<E> clazz) {
+        E[] values = clazz.getEnumConstants();
+        return StreamCodec.of((buf, value) -> buf.writeVarInt(value.ordinal()), buf -> {
+            int ordinal = buf.readVarInt();
+            if (ordinal < 0 || ordinal >= values.length) {
+                throw new DecoderException("Invalid ordinal " + ordinal + " for enum " + clazz.getName());
+            }
+            return values[ordinal];
+        });
+    }
+
+}
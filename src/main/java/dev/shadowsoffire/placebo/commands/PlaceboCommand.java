@@ -13,6 +13,8 @@ public class PlaceboCommand {
         LiteralArgumentBuilder<CommandSourceStack> builder = Commands.literal("placebo");
         SerializeLootTableCommand.register(builder);
         HandToJsonCommand.register(builder);
+        TaskStatsCommand.register(builder);
+        TickProfilerCommand.register(builder);
         pDispatcher.register(builder);
     }
 
@@ -0,0 +1,45 @@
+package dev.shadowsoffire.placebo.commands;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+
+import dev.shadowsoffire.placebo.util.PlaceboTaskQueue;
+import dev.shadowsoffire.placebo.util.PlaceboTaskQueue.TaskStats;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+
+public class TaskStatsCommand {
+
+    public static final int MAX_LINES = 10;
+
+    public static void register(LiteralArgumentBuilder<CommandSourceStack> builder) {
+        builder.then(Commands.literal("task_stats").requires(s -> s.hasPermission(2)).executes(ctx -> {
+            List<Map.Entry<ResourceLocation, TaskStats>> sorted = PlaceboTaskQueue.getStats().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<ResourceLocation, TaskStats> e) -> e.getValue().getTotalNanos()).reversed())
+                .limit(MAX_LINES)
+                .toList();
+
+            if (sorted.isEmpty()) {
+                ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.task_stats.empty"), false);
+                return 0;
+            }
+
+            ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.task_stats.header", sorted.size()), false);
+            for (Map.Entry<ResourceLocation, TaskStats> entry : sorted) {
+                TaskStats stats = entry.getValue();
+                ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.task_stats.entry", entry.getKey().toString(), stats.getExecutions(),
+                    String.format("%.3f", stats.getTotalNanos() / 1_000_000D), stats.getAverageNanos() / 1000, stats.getMaxNanos() / 1000, stats.getOverruns()), false);
+            }
+            return sorted.size();
+        }).then(Commands.literal("reset").executes(ctx -> {
+            PlaceboTaskQueue.resetStats();
+            ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.task_stats.reset"), true);
+            return 0;
+        })));
+    }
+}
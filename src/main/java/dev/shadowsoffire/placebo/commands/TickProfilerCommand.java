@@ -0,0 +1,64 @@
+package dev.shadowsoffire.placebo.commands;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+
+import dev.shadowsoffire.placebo.Placebo;
+import dev.shadowsoffire.placebo.block_entity.TickProfiler;
+import dev.shadowsoffire.placebo.block_entity.TickProfiler.Key;
+import dev.shadowsoffire.placebo.block_entity.TickProfiler.TickStats;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+
+public class TickProfilerCommand {
+
+    public static final int MAX_LINES = 10;
+
+    public static final SimpleCommandExceptionType EXPORT_FAILED = new SimpleCommandExceptionType(Component.translatable("placebo.cmd.tick_profiler.export_failed"));
+
+    public static void register(LiteralArgumentBuilder<CommandSourceStack> builder) {
+        builder.then(Commands.literal("tick_profiler").requires(s -> s.hasPermission(2)).then(Commands.literal("start").executes(ctx -> {
+            TickProfiler.setEnabled(true);
+            ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.tick_profiler.start"), true);
+            return 0;
+        })).then(Commands.literal("stop").executes(ctx -> {
+            TickProfiler.setEnabled(false);
+            ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.tick_profiler.stop"), true);
+            return 0;
+        })).then(Commands.literal("reset").executes(ctx -> {
+            TickProfiler.reset();
+            ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.tick_profiler.reset"), true);
+            return 0;
+        })).then(Commands.literal("report").executes(ctx -> {
+            List<Map.Entry<Key, TickStats>> sorted = TickProfiler.getSortedStats();
+            if (sorted.isEmpty()) {
+                ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.tick_profiler.empty"), false);
+                return 0;
+            }
+
+            List<Map.Entry<Key, TickStats>> top = sorted.subList(0, Math.min(MAX_LINES, sorted.size()));
+            ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.tick_profiler.header", top.size()), false);
+            for (Map.Entry<Key, TickStats> entry : top) {
+                TickStats stats = entry.getValue();
+                ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.tick_profiler.entry", entry.getKey().typeName(), entry.getKey().dimension().location().toString(),
+                    stats.getTicks(), String.format("%.3f", stats.getTotalNanos() / 1_000_000D), stats.getAverageNanos() / 1000, stats.getMaxNanos() / 1000), false);
+            }
+            return top.size();
+        })).then(Commands.literal("export").executes(ctx -> {
+            try {
+                String path = TickProfiler.exportCsv();
+                ctx.getSource().sendSuccess(() -> Component.translatable("placebo.cmd.tick_profiler.export", path), true);
+                return 0;
+            }
+            catch (IOException ex) {
+                Placebo.LOGGER.error("Failed to export block entity tick profile.", ex);
+                throw EXPORT_FAILED.create();
+            }
+        })));
+    }
+}
@@ -52,6 +52,11 @@ public class ConfigCategory implements Map<String, Property> {
     private boolean requiresMcRestart = false;
     private List<String> propertyOrder = null;
 
+    /**
+     * Incremented whenever a property is added, replaced, or removed, which invalidates resolved {@link ConfigHandle}s.
+     */
+    int modCount = 0;
+
     public ConfigCategory(String name) {
         this(name, null);
     }
@@ -342,6 +347,7 @@ public class ConfigCategory implements Map<String, Property> {
     @Override
     public Property put(String key, Property value) {
         this.changed = true;
+        this.modCount++;
         if (this.propertyOrder != null && !this.propertyOrder.contains(key)) this.propertyOrder.add(key);
         return this.properties.put(key, value);
     }
@@ -349,12 +355,14 @@ public class ConfigCategory implements Map<String, Property> {
     @Override
     public Property remove(Object key) {
         this.changed = true;
+        this.modCount++;
         return this.properties.remove(key);
     }
 
     @Override
     public void putAll(Map<? extends String, ? extends Property> m) {
         this.changed = true;
+        this.modCount++;
         if (this.propertyOrder != null) for (String key : m.keySet())
             if (!this.propertyOrder.contains(key)) this.propertyOrder.add(key);
         this.properties.putAll(m);
@@ -363,6 +371,7 @@ public class ConfigCategory implements Map<String, Property> {
     @Override
     public void clear() {
         this.changed = true;
+        this.modCount++;
         this.properties.clear();
     }
 
@@ -0,0 +1,85 @@
+package dev.shadowsoffire.placebo.config;
+
+/**
+ * A pre-resolved reference to a single {@link Property} of a {@link Configuration}.
+ * <p>
+ * The category and property are looked up once, and the resolved instances are reused until the config is reloaded or the category is
+ * structurally modified, at which point the handle transparently resolves them again. Repeated access therefore skips the category name
+ * normalization and map lookups performed by {@link Configuration#get}.
+ * <p>
+ * If the property is removed from the config, the handle keeps returning the last resolved instance.
+ *
+ * @see Configuration#handle(String, String)
+ */
+public final class ConfigHandle {
+
+    private final Configuration config;
+    private final String category;
+    private final String key;
+
+    private ConfigCategory resolvedCategory;
+    private Property property;
+    private int generation;
+    private int modCount;
+
+    ConfigHandle(Configuration config, String category, String key) {
+        this.config = config;
+        this.category = category;
+        this.key = key;
+        if (!this.resolve()) {
+            throw new IllegalArgumentException("Property " + category + "/" + key + " does not exist in config " + config.getConfigFile().getName());
+        }
+    }
+
+    /**
+     * @return The property referenced by this handle.
+     */
+    public Property get() {
+        if (this.generation != this.config.generation || this.modCount != this.resolvedCategory.modCount) {
+            this.resolve();
+        }
+        return this.property;
+    }
+
+    public int getInt() {
+        return this.get().getInt();
+    }
+
+    public long getLong() {
+        return this.get().getLong();
+    }
+
+    public double getDouble() {
+        return this.get().getDouble();
+    }
+
+    public boolean getBoolean() {
+        return this.get().getBoolean();
+    }
+
+    public String getString() {
+        return this.get().getString();
+    }
+
+    public String[] getStringList() {
+        return this.get().getStringList();
+    }
+
+    /**
+     * Re-resolves the category and property.
+     *
+     * @return True if the property exists.
+     */
+    private boolean resolve() {
+        this.generation = this.config.generation;
+        if (!this.config.hasCategory(this.category)) return false;
+        this.resolvedCategory = this.config.getCategory(this.category);
+        this.modCount = this.resolvedCategory.modCount;
+        Property prop = this.resolvedCategory.get(this.key);
+        if (prop != null) {
+            this.property = prop;
+        }
+        return prop != null;
+    }
+
+}
@@ -0,0 +1,240 @@
+package dev.shadowsoffire.placebo.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Compact binary sidecar of a parsed config file, which allows the config to be loaded without parsing the text on startup.
+ * <p>
+ * The text file remains the source of truth. Each snapshot records the modification time, size and CRC32C of the text it was built from,
+ * and is discarded whenever those no longer match.
+ *
+ * @see Configuration#Configuration(File, boolean)
+ */
+class ConfigSnapshot {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int MAGIC = 0x50434647; // PCFG
+    private static final int VERSION = 1;
+
+    private static final int MAX_ENTRIES = 1 << 20;
+
+    /**
+     * Identifies the exact text file contents that a snapshot was built from.
+     */
+    static record Key(long lastModified, long size, int hash) {
+
+        static Key of(File file, byte[] contents) {
+            CRC32C crc = new CRC32C();
+            crc.update(contents);
+            return new Key(file.lastModified(), contents.length, (int) crc.getValue());
+        }
+    }
+
+    /**
+     * @return The sidecar file for the given config file.
+     */
+    static File sidecar(File file) {
+        return new File(file.getPath() + ".bin");
+    }
+
+    /**
+     * Loads the snapshot for the config file into the config, if the snapshot exists and matches the key.
+     * <p>
+     * The snapshot is fully decoded before anything is applied, so the config is left untouched if this method returns false.
+     *
+     * @return True if the snapshot was loaded.
+     */
+    static boolean read(Configuration cfg, Key key) {
+        File sidecar = sidecar(cfg.file);
+        if (!sidecar.exists()) return false;
+
+        Decoded decoded;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(sidecar.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return false;
+            if (in.readLong() != key.lastModified() || in.readLong() != key.size() || in.readInt() != key.hash()) return false;
+            decoded = Decoded.read(in);
+        }
+        catch (IOException e) {
+            LOGGER.warn("Discarding unreadable config snapshot {}.", sidecar.getName(), e);
+            return false;
+        }
+
+        decoded.apply(cfg);
+        return true;
+    }
+
+    /**
+     * Writes the snapshot of the config's current contents, tagged with the key of the text it was parsed from.
+     */
+    static void write(Configuration cfg, Key key) {
+        File sidecar = sidecar(cfg.file);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(key.lastModified());
+            out.writeLong(key.size());
+            out.writeInt(key.hash());
+
+            writeNullableString(out, cfg.fileName);
+            writeString(out, cfg.defaultEncoding);
+            out.writeBoolean(cfg.categories instanceof TreeMap);
+
+            // Categories are written in pre-order, so parents always precede their children and child order is preserved.
+            List<ConfigCategory> ordered = new ArrayList<>();
+            for (ConfigCategory cat : cfg.categories.values()) {
+                if (!cat.isChild()) collect(cat, ordered);
+            }
+
+            out.writeInt(ordered.size());
+            for (ConfigCategory cat : ordered) {
+                writeString(out, cat.getName());
+                writeNullableString(out, cat.isChild() ? cat.parent.getQualifiedName() : null);
+                out.writeInt(cat.size());
+                for (Map.Entry<String, Property> entry : cat.getValues().entrySet()) {
+                    Property prop = entry.getValue();
+                    writeString(out, entry.getKey());
+                    writeString(out, prop.getName());
+                    out.writeChar(prop.getType() == null ? 0 : prop.getType().getID());
+                    out.writeBoolean(prop.isList());
+                    if (prop.isList()) {
+                        String[] values = prop.getStringList();
+                        out.writeInt(values.length);
+                        for (String value : values) {
+                            writeString(out, value);
+                        }
+                    }
+                    else {
+                        writeString(out, prop.getString());
+                    }
+                }
+            }
+
+            out.close();
+            ConfigWriter.write(sidecar, bytes.toByteArray());
+        }
+        catch (IOException e) {
+            LOGGER.warn("Failed to write config snapshot {}.", sidecar.getName(), e);
+        }
+    }
+
+    private static void collect(ConfigCategory cat, List<ConfigCategory> out) {
+        out.add(cat);
+        for (ConfigCategory child : cat.getChildren()) {
+            collect(child, out);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String str) throws IOException {
+        out.writeBoolean(str != null);
+        if (str != null) writeString(out, str);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[checkCount(in.readInt(), in.available())];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readString(in) : null;
+    }
+
+    private static int checkCount(int count, int limit) throws IOException {
+        if (count < 0 || count > limit) throw new IOException("Invalid length " + count);
+        return count;
+    }
+
+    private static record Decoded(String fileName, String encoding, boolean sorted, List<DecodedCategory> categories) {
+
+        static Decoded read(DataInputStream in) throws IOException {
+            String fileName = readNullableString(in);
+            String encoding = readString(in);
+            boolean sorted = in.readBoolean();
+            int count = checkCount(in.readInt(), MAX_ENTRIES);
+            List<DecodedCategory> categories = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String name = readString(in);
+                String parent = readNullableString(in);
+                int propCount = checkCount(in.readInt(), MAX_ENTRIES);
+                List<DecodedProperty> props = new ArrayList<>(propCount);
+                for (int j = 0; j < propCount; j++) {
+                    String key = readString(in);
+                    String propName = readString(in);
+                    char typeId = in.readChar();
+                    Property.Type type = typeId == 0 ? null : Property.Type.tryParse(typeId);
+                    if (in.readBoolean()) {
+                        String[] values = new String[checkCount(in.readInt(), MAX_ENTRIES)];
+                        for (int k = 0; k < values.length; k++) {
+                            values[k] = readString(in);
+                        }
+                        props.add(new DecodedProperty(key, propName, type, null, values));
+                    }
+                    else {
+                        props.add(new DecodedProperty(key, propName, type, readString(in), null));
+                    }
+                }
+                categories.add(new DecodedCategory(name, parent, props));
+            }
+            return new Decoded(fileName, encoding, sorted, categories);
+        }
+
+        /**
+         * Applies the decoded contents with the same merge semantics as parsing the text file.
+         */
+        void apply(Configuration cfg) {
+            cfg.fileName = this.fileName;
+            cfg.defaultEncoding = this.encoding;
+            if (this.sorted) {
+                cfg.categories = new TreeMap<>();
+            }
+
+            for (DecodedCategory decoded : this.categories) {
+                ConfigCategory parent = decoded.parent() == null ? null : cfg.categories.get(decoded.parent());
+                String qualifiedName = ConfigCategory.getQualifiedName(decoded.name(), parent);
+                ConfigCategory cat = cfg.categories.get(qualifiedName);
+                if (cat == null) {
+                    cat = new ConfigCategory(decoded.name(), parent);
+                    cfg.categories.put(qualifiedName, cat);
+                }
+
+                for (DecodedProperty prop : decoded.properties()) {
+                    if (prop.values() != null) {
+                        cat.put(prop.key(), new Property(prop.name(), prop.values(), prop.type()));
+                    }
+                    else {
+                        cat.put(prop.key(), new Property(prop.name(), prop.value(), prop.type(), true));
+                    }
+                }
+            }
+        }
+    }
+
+    private static record DecodedCategory(String name, String parent, List<DecodedProperty> properties) {}
+
+    private static record DecodedProperty(String key, String name, Property.Type type, String value, String[] values) {}
+
+}
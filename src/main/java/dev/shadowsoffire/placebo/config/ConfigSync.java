@@ -0,0 +1,164 @@
+package dev.shadowsoffire.placebo.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import dev.shadowsoffire.placebo.Placebo;
+import dev.shadowsoffire.placebo.payloads.ConfigSyncPayload;
+import dev.shadowsoffire.placebo.util.PlaceboTaskQueue;
+import dev.shadowsoffire.placebo.util.PlaceboTaskQueue.Status;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.OnDatapackSyncEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
+
+/**
+ * Syncs server-authoritative config values to clients.
+ * <p>
+ * For each registered config, all properties marked with {@link Property#setSynced(boolean)} whose values differ from their defaults are sent
+ * to clients in a single payload. This happens on login, on datapack reload, and after the config is hot reloaded. Clients apply the received
+ * values to their {@link Property} instances without touching the config file, and revert to their local values when they disconnect.
+ */
+public class ConfigSync {
+
+    private static final Map<String, Configuration> SYNCED = new LinkedHashMap<>();
+
+    /**
+     * Local values of properties which have been overwritten by a server sync, used to restore them on disconnect. Only accessed on the client thread.
+     */
+    private static final Map<Property, Original> ORIGINALS = new IdentityHashMap<>();
+
+    /**
+     * Registers a config for syncing. The ID must be the same on both sides.
+     *
+     * @param id  The unique ID of the config, usually the owning modid.
+     * @param cfg The config.
+     * @throws UnsupportedOperationException if a config with the same ID is already registered.
+     */
+    public static void register(String id, Configuration cfg) {
+        synchronized (SYNCED) {
+            if (SYNCED.containsKey(id)) throw new UnsupportedOperationException("Attempted to register the config " + id + " for syncing, but one already exists!");
+            if (SYNCED.isEmpty()) NeoForge.EVENT_BUS.addListener(ConfigSync::syncAll);
+            SYNCED.put(id, cfg);
+        }
+
+        // Resend after hot reloads. Multiple changed properties from the same reload are coalesced into a single payload.
+        AtomicBoolean pending = new AtomicBoolean();
+        cfg.addChangeListener((category, prop) -> {
+            if (prop.isSynced() && ServerLifecycleHooks.getCurrentServer() != null && pending.compareAndSet(false, true)) {
+                PlaceboTaskQueue.submitTask(Placebo.loc("config_sync"), () -> {
+                    pending.set(false);
+                    PacketDistributor.sendToAllPlayers(createPayload(id, cfg));
+                    return Status.COMPLETED;
+                });
+            }
+        });
+    }
+
+    /**
+     * Creates the sync payload for a config, containing all synced properties which are not at their default values.
+     */
+    public static ConfigSyncPayload createPayload(String id, Configuration cfg) {
+        List<ConfigSyncPayload.Entry> entries = new ArrayList<>();
+        for (String name : cfg.getCategoryNames()) {
+            ConfigCategory cat = cfg.getCategory(name);
+            for (Map.Entry<String, Property> entry : cat.getValues().entrySet()) {
+                Property prop = entry.getValue();
+                if (!prop.isSynced() || prop.isDefault()) continue;
+                String[] values = prop.isList() ? prop.getStringList() : new String[] { prop.getString() };
+                entries.add(new ConfigSyncPayload.Entry(name, entry.getKey(), prop.isList(), values));
+            }
+        }
+        return new ConfigSyncPayload(id, entries);
+    }
+
+    /**
+     * Applies a received sync payload. Synced properties absent from the payload are reset to their defaults.
+     */
+    @ApiStatus.Internal
+    public static void apply(ConfigSyncPayload payload) {
+        if (ServerLifecycleHooks.getCurrentServer() != null) {
+            // On a singleplayer host, the client shares the server's Property instances, so there is nothing to apply.
+            return;
+        }
+
+        Configuration cfg;
+        synchronized (SYNCED) {
+            cfg = SYNCED.get(payload.id());
+        }
+
+        if (cfg == null) {
+            Placebo.LOGGER.warn("Received config sync for unknown config {}.", payload.id());
+            return;
+        }
+
+        Map<String, Map<String, ConfigSyncPayload.Entry>> received = new HashMap<>();
+        for (ConfigSyncPayload.Entry entry : payload.entries()) {
+            received.computeIfAbsent(entry.category(), k -> new HashMap<>()).put(entry.key(), entry);
+        }
+
+        int changed = 0;
+        for (String name : cfg.getCategoryNames()) {
+            ConfigCategory cat = cfg.getCategory(name);
+            Map<String, ConfigSyncPayload.Entry> catEntries = received.getOrDefault(name, Map.of());
+            for (Map.Entry<String, Property> e : cat.getValues().entrySet()) {
+                Property prop = e.getValue();
+                if (!prop.isSynced()) continue;
+
+                ORIGINALS.computeIfAbsent(prop, p -> new Original(cfg, name, p.isList() ? p.getStringList() : new String[] { p.getString() }));
+
+                ConfigSyncPayload.Entry entry = catEntries.get(e.getKey());
+                if (entry != null && entry.list() != prop.isList()) {
+                    Placebo.LOGGER.warn("Received config sync for {}/{} with a mismatched list state.", name, e.getKey());
+                    continue;
+                }
+
+                String[] target = entry != null ? entry.values() : prop.isList() ? prop.getDefaults() : new String[] { prop.getDefault() };
+                if (set(prop, target)) {
+                    cfg.notifyListeners(name, prop);
+                    changed++;
+                }
+            }
+        }
+
+        Placebo.LOGGER.info("Applied {} synced values for config {}.", changed, payload.id());
+    }
+
+    /**
+     * Restores the local values of all properties that were overwritten by a server sync.
+     */
+    @ApiStatus.Internal
+    public static void restoreLocal() {
+        ORIGINALS.forEach((prop, original) -> {
+            if (set(prop, original.values())) {
+                original.cfg().notifyListeners(original.category(), prop);
+            }
+        });
+        ORIGINALS.clear();
+    }
+
+    private static boolean set(Property prop, String[] values) {
+        return prop.isList() ? prop.reloadValues(values) : prop.reloadValue(values[0]);
+    }
+
+    private static void syncAll(OnDatapackSyncEvent e) {
+        ServerPlayer player = e.getPlayer();
+        Consumer<CustomPacketPayload> target = player == null ? PacketDistributor::sendToAllPlayers : payload -> PacketDistributor.sendToPlayer(player, payload);
+        synchronized (SYNCED) {
+            SYNCED.forEach((id, cfg) -> target.accept(createPayload(id, cfg)));
+        }
+    }
+
+    private static record Original(Configuration cfg, String category, String[] values) {}
+
+}
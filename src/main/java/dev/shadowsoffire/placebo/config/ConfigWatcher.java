@@ -0,0 +1,106 @@
+package dev.shadowsoffire.placebo.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Watches the directories of hot-reloading configs, and re-parses a config on a background thread whenever its file changes.
+ * <p>
+ * The parsed result is applied later on the game thread, by {@link Configuration#applyPendingReloads()}.
+ *
+ * @see Configuration#setHotReload(boolean)
+ */
+class ConfigWatcher {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The delay, in milliseconds, between the first change event and the reload, which lets editors finish writing the file.
+     */
+    static final long DEBOUNCE_MILLIS = 100;
+
+    private static final Map<Path, CopyOnWriteArrayList<Configuration>> WATCHED = new ConcurrentHashMap<>();
+    private static final Set<Path> DIRECTORIES = new HashSet<>();
+    private static WatchService service;
+
+    static synchronized void watch(Configuration cfg) throws IOException {
+        Path file = cfg.file.toPath().toAbsolutePath().normalize();
+        Path dir = file.getParent();
+
+        if (service == null) {
+            service = dir.getFileSystem().newWatchService();
+            Thread thread = new Thread(ConfigWatcher::run, "Placebo Config Watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        if (DIRECTORIES.add(dir)) {
+            dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+
+        WATCHED.computeIfAbsent(file, k -> new CopyOnWriteArrayList<>()).addIfAbsent(cfg);
+    }
+
+    static synchronized void unwatch(Configuration cfg) {
+        Path file = cfg.file.toPath().toAbsolutePath().normalize();
+        List<Configuration> cfgs = WATCHED.get(file);
+        if (cfgs != null) {
+            cfgs.remove(cfg);
+        }
+    }
+
+    private static void run() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.take();
+                Thread.sleep(DEBOUNCE_MILLIS);
+            }
+            catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path dir = (Path) key.watchable();
+            Set<Path> changed = new LinkedHashSet<>();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // Events were lost, so conservatively reload everything in this directory.
+                    WATCHED.keySet().stream().filter(p -> dir.equals(p.getParent())).forEach(changed::add);
+                }
+                else {
+                    changed.add(dir.resolve((Path) event.context()));
+                }
+            }
+            key.reset();
+
+            for (Path file : changed) {
+                List<Configuration> cfgs = WATCHED.get(file);
+                if (cfgs == null || !file.toFile().exists()) continue;
+                for (Configuration cfg : cfgs) {
+                    try {
+                        cfg.reloadFromDisk();
+                    }
+                    catch (Exception e) {
+                        LOGGER.error("Error while hot reloading config {}.", file.getFileName(), e);
+                    }
+                }
+            }
+        }
+    }
+
+}
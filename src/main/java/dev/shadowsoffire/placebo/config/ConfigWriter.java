@@ -0,0 +1,110 @@
+package dev.shadowsoffire.placebo.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes config files to disk atomically, optionally on a background thread.
+ * <p>
+ * Files are written to a temporary sibling file, flushed to disk, and then moved over the real file, so a crash mid-write never leaves a
+ * truncated config behind. Background writes of the same file within {@link #COALESCE_MILLIS} are merged, and only the latest contents are written.
+ */
+class ConfigWriter {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The delay, in milliseconds, between the first async save of a file and the actual write.
+     */
+    static final long COALESCE_MILLIS = 250;
+
+    private static final Map<File, byte[]> PENDING = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Placebo Config Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ConfigWriter::flushAll, "Placebo Config Writer Shutdown"));
+    }
+
+    /**
+     * Schedules the contents to be written to the file on the background writer.
+     * If a write of the same file is already pending, its contents are replaced instead.
+     */
+    static void submit(File file, byte[] contents) {
+        if (PENDING.put(file, contents) == null) {
+            EXECUTOR.schedule(() -> flush(file), COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Immediately writes the contents to the file on the calling thread, discarding any pending async write of the same file.
+     */
+    static synchronized void write(File file, byte[] contents) throws IOException {
+        PENDING.remove(file);
+        writeAtomic(file, contents);
+    }
+
+    /**
+     * Immediately writes the pending contents of the file, if any.
+     */
+    static synchronized void flush(File file) {
+        byte[] contents = PENDING.remove(file);
+        if (contents != null) {
+            try {
+                writeAtomic(file, contents);
+            }
+            catch (IOException e) {
+                LOGGER.error("Error while saving config {}.", file.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Immediately writes all pending files.
+     */
+    static void flushAll() {
+        for (File file : PENDING.keySet()) {
+            flush(file);
+        }
+    }
+
+    private static void writeAtomic(File file, byte[] contents) throws IOException {
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(contents);
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
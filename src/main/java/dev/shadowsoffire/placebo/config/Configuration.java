@@ -24,20 +24,23 @@ import static dev.shadowsoffire.placebo.config.Property.Type.DOUBLE;
 import static dev.shadowsoffire.placebo.config.Property.Type.INTEGER;
 import static dev.shadowsoffire.placebo.config.Property.Type.STRING;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PushbackInputStream;
 import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -45,12 +48,16 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.ApiStatus;
 
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Preconditions;
@@ -72,24 +79,52 @@ public class Configuration {
     public static final String ALLOWED_CHARS = "._-";
     public static final String DEFAULT_ENCODING = "UTF-8";
     public static final String CATEGORY_SPLITTER = ".";
-    private static final Pattern CONFIG_START = Pattern.compile("START: \"([^\\\"]+)\"");
-    private static final Pattern CONFIG_END = Pattern.compile("END: \"([^\\\"]+)\"");
+    private static final String CONFIG_START = "START: \"";
+    private static final String CONFIG_END = "END: \"";
     public static final CharMatcher allowedProperties = CharMatcher.forPredicate(Character::isLetterOrDigit).or(CharMatcher.anyOf(ALLOWED_CHARS));
 
+    /**
+     * Configs with a hot reload which has been parsed, but not yet applied.
+     */
+    private static final Set<Configuration> PENDING_RELOADS = ConcurrentHashMap.newKeySet();
+
     File file;
 
-    private Map<String, ConfigCategory> categories = new LinkedHashMap<>();
+    Map<String, ConfigCategory> categories = new LinkedHashMap<>();
 
     private boolean caseSensitiveCustomCategories;
     public String defaultEncoding = DEFAULT_ENCODING;
-    private String fileName = null;
+    String fileName = null;
     public boolean isChild = false;
     private boolean changed = false;
     private String title = "";
     private String mainComment = null;
+    private boolean asyncSave = false;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Configuration> pendingReload = new AtomicReference<>();
+    private final boolean useSnapshot;
+
+    /**
+     * Incremented whenever categories may have been replaced or removed, which invalidates resolved {@link ConfigHandle}s.
+     */
+    int generation = 0;
 
     public Configuration(File file) {
+        this(file, false);
+    }
+
+    /**
+     * Creates a config, optionally backed by a binary snapshot.
+     * <p>
+     * When enabled, a compact binary sidecar of the parsed file is kept next to the config file. On load, if the sidecar matches the current
+     * text file, it is read instead of parsing the text. The text file remains the source of truth, and the sidecar is rebuilt whenever it changes.
+     *
+     * @param file        The config file.
+     * @param useSnapshot If the binary snapshot should be used.
+     */
+    public Configuration(File file, boolean useSnapshot) {
         this.file = file;
+        this.useSnapshot = useSnapshot;
         try {
             this.load();
         }
@@ -103,7 +138,24 @@ public class Configuration {
     }
 
     public Configuration(String modid) {
-        this(new File(FMLPaths.CONFIGDIR.get().toFile(), modid + ".cfg"));
+        this(modid, false);
+    }
+
+    /**
+     * @see #Configuration(File, boolean)
+     */
+    public Configuration(String modid, boolean useSnapshot) {
+        this(new File(FMLPaths.CONFIGDIR.get().toFile(), modid + ".cfg"), useSnapshot);
+    }
+
+    /**
+     * Creates a detached config which has not been loaded, used to read the file contents during hot reloads.
+     */
+    private Configuration(File file, Configuration parent) {
+        this.file = file;
+        this.useSnapshot = false;
+        this.defaultEncoding = parent.defaultEncoding;
+        this.caseSensitiveCustomCategories = parent.caseSensitiveCustomCategories;
     }
 
     public void setTitle(String title) {
@@ -120,6 +172,152 @@ public class Configuration {
         this.mainComment = comment;
     }
 
+    /**
+     * Enables or disables async saving.
+     * <p>
+     * When enabled, {@link #save()} serializes the config in memory on the calling thread, and the file is written on a background thread.
+     * Repeated saves within a short window are coalesced into a single write.
+     *
+     * @param asyncSave If saves should be written asynchronously.
+     */
+    public void setAsyncSave(boolean asyncSave) {
+        this.asyncSave = asyncSave;
+    }
+
+    /**
+     * Immediately writes all pending async saves, from all configs, on the calling thread.
+     */
+    public static void flushAsyncSaves() {
+        ConfigWriter.flushAll();
+    }
+
+    /**
+     * Enables or disables hot reloading.
+     * <p>
+     * When enabled, the config file is watched for changes. When it changes, it is re-parsed on a background thread. On the next game tick,
+     * any existing properties whose values differ are updated in place, all at once, and registered {@link ChangeListener}s are notified for
+     * each changed property.
+     * <p>
+     * New properties in the file are ignored, since they have no registered type or default. Hot reloading should only be enabled
+     * once all properties have been registered.
+     *
+     * @param hotReload If this config should hot reload.
+     */
+    public void setHotReload(boolean hotReload) {
+        if (hotReload) {
+            try {
+                ConfigWatcher.watch(this);
+            }
+            catch (IOException e) {
+                LOGGER.error("Failed to watch config {} for changes.", this.file.getName(), e);
+            }
+        }
+        else {
+            ConfigWatcher.unwatch(this);
+        }
+    }
+
+    /**
+     * Adds a listener which is notified when a property changes due to a hot reload or a server sync.
+     * <p>
+     * Listeners are called on the thread that applied the change. For hot reloads, this is the client thread on a physical client, and the
+     * server thread on a dedicated server.
+     */
+    public void addChangeListener(ChangeListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Re-parses the config file and queues the result to be applied by {@link #applyPendingReloads()}.
+     * <p>
+     * Called from the config watcher thread. The live categories and properties are not touched, since the game thread may be registering
+     * or reading them concurrently. A malformed file is discarded, leaving all values untouched.
+     */
+    void reloadFromDisk() {
+        Configuration parsed = new Configuration(this.file, this);
+        try {
+            parsed.load();
+        }
+        catch (RuntimeException e) {
+            LOGGER.warn("Failed to hot reload config {}, the current values will be kept.", this.file.getName(), e);
+            return;
+        }
+        // Only the latest parse is kept, so bursts of edits are applied once.
+        this.pendingReload.set(parsed);
+        PENDING_RELOADS.add(this);
+    }
+
+    /**
+     * Applies all hot reloads which have been parsed since the last call.
+     * <p>
+     * Called every tick on the game thread: the client thread on a physical client, and the server thread on a dedicated server.
+     */
+    @ApiStatus.Internal
+    public static void applyPendingReloads() {
+        if (PENDING_RELOADS.isEmpty()) return;
+        Iterator<Configuration> it = PENDING_RELOADS.iterator();
+        while (it.hasNext()) {
+            Configuration cfg = it.next();
+            it.remove();
+            Configuration parsed = cfg.pendingReload.getAndSet(null);
+            if (parsed != null) cfg.applyReload(parsed);
+        }
+    }
+
+    /**
+     * Applies every changed value from a parsed copy of the file, and then notifies the listeners once all values have been updated.
+     */
+    private void applyReload(Configuration parsed) {
+        List<Pair<String, Property>> changes = new ArrayList<>();
+        for (Entry<String, ConfigCategory> entry : this.categories.entrySet()) {
+            ConfigCategory fresh = parsed.categories.get(entry.getKey());
+            if (fresh == null) continue;
+            for (String key : entry.getValue().keySet()) {
+                Property prop = entry.getValue().get(key);
+                Property freshProp = fresh.get(key);
+                if (freshProp == null || freshProp.isList() != prop.isList()) continue;
+                if (prop.isList() ? prop.reloadValues(freshProp.getStringList()) : prop.reloadValue(freshProp.getString())) {
+                    changes.add(Pair.of(entry.getKey(), prop));
+                }
+            }
+        }
+
+        if (!changes.isEmpty()) {
+            LOGGER.info("Hot reloaded {} changed properties from config {}.", changes.size(), this.file.getName());
+        }
+
+        for (Pair<String, Property> change : changes) {
+            this.notifyListeners(change.getLeft(), change.getRight());
+        }
+    }
+
+    /**
+     * Notifies all {@link ChangeListener}s that a property's value was changed externally.
+     */
+    void notifyListeners(String category, Property property) {
+        for (ChangeListener listener : this.listeners) {
+            listener.onPropertyChanged(category, property);
+        }
+    }
+
+    /**
+     * Creates a handle to an existing property, which resolves the category and property once instead of on every access.
+     * <p>
+     * Use this for properties which are read frequently, since each {@link #get} call normalizes the category name and performs several map lookups.
+     *
+     * @param category The category name, which may be hierarchical (i.e. {@code "cat.sub"}).
+     * @param key      The property key.
+     * @return A handle to the property.
+     * @throws IllegalArgumentException if the property does not exist.
+     */
+    public ConfigHandle handle(String category, String key) {
+        return new ConfigHandle(this, category, key);
+    }
+
     @Override
     public String toString() {
         return this.file.getAbsolutePath();
@@ -707,8 +905,9 @@ public class Configuration {
     }
 
     public void load() {
-        BufferedReader buffer = null;
         UnicodeInputStreamReader input = null;
+        ConfigWriter.flush(this.file); // Ensure any pending async save is on disk before reading it back.
+        this.generation++;
         try {
             if (this.file.getParentFile() != null) {
                 this.file.getParentFile().mkdirs();
@@ -721,192 +920,267 @@ public class Configuration {
             }
 
             if (this.file.canRead()) {
-                input = new UnicodeInputStreamReader(new FileInputStream(this.file), this.defaultEncoding);
-                this.defaultEncoding = input.getEncoding();
-                buffer = new BufferedReader(input);
-
-                String line;
-                ConfigCategory currentCat = null;
-                Property.Type type = null;
-                ArrayList<String> tmpList = null;
-                int lineNum = 0;
-                String name = null;
-
-                while (true) {
-                    lineNum++;
-                    line = buffer.readLine();
-
-                    if (line == null) {
-                        break;
+                if (this.useSnapshot) {
+                    byte[] bytes = Files.readAllBytes(this.file.toPath());
+                    ConfigSnapshot.Key key = ConfigSnapshot.Key.of(this.file, bytes);
+                    if (!ConfigSnapshot.read(this, key)) {
+                        input = new UnicodeInputStreamReader(new ByteArrayInputStream(bytes), this.defaultEncoding);
+                        this.parse(input, bytes.length);
+                        ConfigSnapshot.write(this, key);
                     }
+                }
+                else {
+                    input = new UnicodeInputStreamReader(new FileInputStream(this.file), this.defaultEncoding);
+                    this.parse(input, this.file.length());
+                }
+            }
+        }
+        catch (IOException e) {
+            LOGGER.error("Error while loading config {}.", this.fileName, e);
+        }
+        finally {
+            IOUtils.closeQuietly(input);
+        }
 
-                    Matcher start = CONFIG_START.matcher(line);
-                    Matcher end = CONFIG_END.matcher(line);
+        this.resetChangedState();
+    }
 
-                    if (start.matches()) {
-                        this.fileName = start.group(1);
-                        this.categories = new TreeMap<>();
-                        continue;
-                    }
-                    else if (end.matches()) {
-                        this.fileName = end.group(1);
-                        // Configuration child = new Configuration(null);
-                        // child.categories = categories;
-                        // this.children.put(fileName, child);
-                        continue;
+    /**
+     * Reads and parses the config text from the input.
+     *
+     * @param sizeHint The expected number of chars.
+     */
+    private void parse(UnicodeInputStreamReader input, long sizeHint) throws IOException {
+        this.defaultEncoding = input.getEncoding();
+        CharBuffer contents = readFully(input, sizeHint);
+        this.parse(contents.array(), contents.limit());
+    }
+
+    /**
+     * Reads the entire contents of the reader into a heap buffer, which is flipped and ready to read.
+     *
+     * @param sizeHint The expected number of chars, used to size the initial buffer.
+     */
+    private static CharBuffer readFully(Reader reader, long sizeHint) throws IOException {
+        CharBuffer buf = CharBuffer.allocate((int) Math.max(1024, Math.min(sizeHint, Integer.MAX_VALUE - 8)));
+        while (reader.read(buf) != -1) {
+            if (!buf.hasRemaining()) {
+                CharBuffer grown = CharBuffer.allocate(buf.capacity() * 2);
+                buf.flip();
+                grown.put(buf);
+                buf = grown;
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    /**
+     * Parses the config text in a single pass over the buffer.
+     * <p>
+     * Lines are tracked by index instead of being copied out, and no regular expressions are used, so strings are only allocated for the
+     * category names, property names, values and list entries that are actually stored.
+     *
+     * @param buf    The config text.
+     * @param length The number of valid chars in the buffer.
+     */
+    private void parse(char[] buf, int length) {
+        ConfigCategory currentCat = null;
+        Property.Type type = null;
+        ArrayList<String> tmpList = null;
+        int lineNum = 0;
+        String name = null;
+        int pos = 0;
+
+        while (pos < length) {
+            lineNum++;
+
+            // Line terminators follow BufferedReader#readLine: \n, \r, or \r\n.
+            int lineStart = pos;
+            int lineEnd = lineStart;
+            while (lineEnd < length && buf[lineEnd] != '\n' && buf[lineEnd] != '\r') {
+                lineEnd++;
+            }
+            pos = lineEnd + 1;
+            if (lineEnd < length && buf[lineEnd] == '\r' && pos < length && buf[pos] == '\n') {
+                pos++;
+            }
+
+            String marker = matchMarker(buf, lineStart, lineEnd, CONFIG_START);
+            if (marker != null) {
+                this.fileName = marker;
+                this.categories = new TreeMap<>();
+                continue;
+            }
+
+            marker = matchMarker(buf, lineStart, lineEnd, CONFIG_END);
+            if (marker != null) {
+                this.fileName = marker;
+                continue;
+            }
+
+            int nameStart = -1, nameEnd = -1;
+            boolean skip = false;
+            boolean quoted = false;
+            boolean isFirstNonWhitespaceCharOnLine = true;
+
+            for (int i = lineStart; i < lineEnd && !skip; ++i) {
+                char c = buf[i];
+                if (Character.isLetterOrDigit(c) || ALLOWED_CHARS.indexOf(c) != -1 || quoted && c != '"') {
+                    if (nameStart == -1) {
+                        nameStart = i;
                     }
 
-                    int nameStart = -1, nameEnd = -1;
-                    boolean skip = false;
-                    boolean quoted = false;
-                    boolean isFirstNonWhitespaceCharOnLine = true;
+                    nameEnd = i;
+                    isFirstNonWhitespaceCharOnLine = false;
+                }
+                else if (Character.isWhitespace(c)) {
+                    // ignore space characters
+                }
+                else {
+                    switch (c) {
+                        case '#':
+                            if (tmpList != null) // allow special characters as part of string lists
+                                break;
+                            skip = true;
+                            continue;
+
+                        case '"':
+                            if (tmpList != null) // allow special characters as part of string lists
+                                break;
+                            if (quoted) {
+                                quoted = false;
+                            }
+                            if (!quoted && nameStart == -1) {
+                                quoted = true;
+                            }
+                            break;
+
+                        case '{':
+                            if (tmpList != null) // allow special characters as part of string lists
+                                break;
+                            name = new String(buf, nameStart, nameEnd + 1 - nameStart);
+                            if (!this.caseSensitiveCustomCategories) name = name.toLowerCase(Locale.ENGLISH);
+                            String qualifiedName = ConfigCategory.getQualifiedName(name, currentCat);
+
+                            ConfigCategory cat = this.categories.get(qualifiedName);
+                            if (cat == null) {
+                                currentCat = new ConfigCategory(name, currentCat);
+                                this.categories.put(qualifiedName, currentCat);
+                            }
+                            else {
+                                currentCat = cat;
+                            }
+                            name = null;
+
+                            break;
 
-                    for (int i = 0; i < line.length() && !skip; ++i) {
-                        if (Character.isLetterOrDigit(line.charAt(i)) || ALLOWED_CHARS.indexOf(line.charAt(i)) != -1 || quoted && line.charAt(i) != '"') {
-                            if (nameStart == -1) {
-                                nameStart = i;
+                        case '}':
+                            if (tmpList != null) // allow special characters as part of string lists
+                                break;
+                            if (currentCat == null) {
+                                throw new RuntimeException(String.format("Config file corrupt, attempted to close to many categories '%s:%d'", this.fileName, lineNum));
                             }
+                            currentCat = currentCat.parent;
+                            break;
 
-                            nameEnd = i;
-                            isFirstNonWhitespaceCharOnLine = false;
-                        }
-                        else if (Character.isWhitespace(line.charAt(i))) {
-                            // ignore space characters
-                        }
-                        else {
-                            switch (line.charAt(i)) {
-                                case '#':
-                                    if (tmpList != null) // allow special characters as part of string lists
-                                        break;
-                                    skip = true;
-                                    continue;
-
-                                case '"':
-                                    if (tmpList != null) // allow special characters as part of string lists
-                                        break;
-                                    if (quoted) {
-                                        quoted = false;
-                                    }
-                                    if (!quoted && nameStart == -1) {
-                                        quoted = true;
-                                    }
-                                    break;
-
-                                case '{':
-                                    if (tmpList != null) // allow special characters as part of string lists
-                                        break;
-                                    name = line.substring(nameStart, nameEnd + 1);
-                                    if (!this.caseSensitiveCustomCategories) name = name.toLowerCase(Locale.ENGLISH);
-                                    String qualifiedName = ConfigCategory.getQualifiedName(name, currentCat);
-
-                                    ConfigCategory cat = this.categories.get(qualifiedName);
-                                    if (cat == null) {
-                                        currentCat = new ConfigCategory(name, currentCat);
-                                        this.categories.put(qualifiedName, currentCat);
-                                    }
-                                    else {
-                                        currentCat = cat;
-                                    }
-                                    name = null;
-
-                                    break;
-
-                                case '}':
-                                    if (tmpList != null) // allow special characters as part of string lists
-                                        break;
-                                    if (currentCat == null) {
-                                        throw new RuntimeException(String.format("Config file corrupt, attempted to close to many categories '%s:%d'", this.fileName, lineNum));
-                                    }
-                                    currentCat = currentCat.parent;
-                                    break;
-
-                                case '=':
-                                    if (tmpList != null) // allow special characters as part of string lists
-                                        break;
-                                    name = line.substring(nameStart, nameEnd + 1);
-
-                                    if (currentCat == null) {
-                                        throw new RuntimeException(String.format("'%s' has no scope in '%s:%d'", name, this.fileName, lineNum));
-                                    }
-
-                                    Property prop = new Property(name, line.substring(i + 1), type, true);
-                                    i = line.length();
-
-                                    currentCat.put(name, prop);
-
-                                    break;
-
-                                case ':':
-                                    if (tmpList != null) // allow special characters as part of string lists
-                                        break;
-                                    type = Property.Type.tryParse(line.substring(nameStart, nameEnd + 1).charAt(0));
-                                    nameStart = nameEnd = -1;
-                                    break;
-
-                                case '<':
-                                    if (tmpList != null && i + 1 == line.length() || tmpList == null && i + 1 != line.length()) {
-                                        throw new RuntimeException(String.format("Malformed list property \"%s:%d\"", this.fileName, lineNum));
-                                    }
-                                    else if (i + 1 == line.length()) {
-                                        name = line.substring(nameStart, nameEnd + 1);
-
-                                        if (currentCat == null) {
-                                            throw new RuntimeException(String.format("'%s' has no scope in '%s:%d'", name, this.fileName, lineNum));
-                                        }
-
-                                        tmpList = new ArrayList<>();
-
-                                        skip = true;
-                                    }
-
-                                    break;
-
-                                case '>':
-                                    if (tmpList == null) {
-                                        throw new RuntimeException(String.format("Malformed list property \"%s:%d\"", this.fileName, lineNum));
-                                    }
-
-                                    if (isFirstNonWhitespaceCharOnLine) {
-                                        currentCat.put(name, new Property(name, tmpList.toArray(new String[tmpList.size()]), type));
-                                        name = null;
-                                        tmpList = null;
-                                        type = null;
-                                    } // else allow special characters as part of string lists
-                                    break;
-
-                                case '~':
-                                    if (tmpList != null) // allow special characters as part of string lists
-                                        break;
-
-                                    break;
-
-                                default:
-                                    if (tmpList != null) // allow special characters as part of string lists
-                                        break;
-                                    throw new RuntimeException(String.format("Unknown character '%s' in '%s:%d'", line.charAt(i), this.fileName, lineNum));
+                        case '=':
+                            if (tmpList != null) // allow special characters as part of string lists
+                                break;
+                            name = new String(buf, nameStart, nameEnd + 1 - nameStart);
+
+                            if (currentCat == null) {
+                                throw new RuntimeException(String.format("'%s' has no scope in '%s:%d'", name, this.fileName, lineNum));
                             }
-                            isFirstNonWhitespaceCharOnLine = false;
-                        }
-                    }
 
-                    if (quoted) {
-                        throw new RuntimeException(String.format("Unmatched quote in '%s:%d'", this.fileName, lineNum));
-                    }
-                    else if (tmpList != null && !skip) {
-                        tmpList.add(line.trim());
+                            Property prop = new Property(name, new String(buf, i + 1, lineEnd - i - 1), type, true);
+                            i = lineEnd;
+
+                            currentCat.put(name, prop);
+
+                            break;
+
+                        case ':':
+                            if (tmpList != null) // allow special characters as part of string lists
+                                break;
+                            type = Property.Type.tryParse(buf[nameStart]);
+                            nameStart = nameEnd = -1;
+                            break;
+
+                        case '<':
+                            if (tmpList != null && i + 1 == lineEnd || tmpList == null && i + 1 != lineEnd) {
+                                throw new RuntimeException(String.format("Malformed list property \"%s:%d\"", this.fileName, lineNum));
+                            }
+                            else if (i + 1 == lineEnd) {
+                                name = new String(buf, nameStart, nameEnd + 1 - nameStart);
+
+                                if (currentCat == null) {
+                                    throw new RuntimeException(String.format("'%s' has no scope in '%s:%d'", name, this.fileName, lineNum));
+                                }
+
+                                tmpList = new ArrayList<>();
+
+                                skip = true;
+                            }
+
+                            break;
+
+                        case '>':
+                            if (tmpList == null) {
+                                throw new RuntimeException(String.format("Malformed list property \"%s:%d\"", this.fileName, lineNum));
+                            }
+
+                            if (isFirstNonWhitespaceCharOnLine) {
+                                currentCat.put(name, new Property(name, tmpList.toArray(new String[tmpList.size()]), type));
+                                name = null;
+                                tmpList = null;
+                                type = null;
+                            } // else allow special characters as part of string lists
+                            break;
+
+                        case '~':
+                            if (tmpList != null) // allow special characters as part of string lists
+                                break;
+
+                            break;
+
+                        default:
+                            if (tmpList != null) // allow special characters as part of string lists
+                                break;
+                            throw new RuntimeException(String.format("Unknown character '%s' in '%s:%d'", c, this.fileName, lineNum));
                     }
+                    isFirstNonWhitespaceCharOnLine = false;
                 }
             }
+
+            if (quoted) {
+                throw new RuntimeException(String.format("Unmatched quote in '%s:%d'", this.fileName, lineNum));
+            }
+            else if (tmpList != null && !skip) {
+                // Equivalent to String#trim, without copying the untrimmed line first.
+                int trimStart = lineStart, trimEnd = lineEnd;
+                while (trimStart < trimEnd && buf[trimStart] <= ' ') trimStart++;
+                while (trimEnd > trimStart && buf[trimEnd - 1] <= ' ') trimEnd--;
+                tmpList.add(new String(buf, trimStart, trimEnd - trimStart));
+            }
         }
-        catch (IOException e) {
-            LOGGER.error("Error while loading config {}.", this.fileName, e);
+    }
+
+    /**
+     * Matches a full line of the form {@code <prefix>name"}, where the name is non-empty and does not contain a quote.
+     *
+     * @return The matched name, or null if the line does not match.
+     */
+    private static String matchMarker(char[] buf, int lineStart, int lineEnd, String prefix) {
+        int nameStart = lineStart + prefix.length();
+        if (lineEnd - 1 <= nameStart || buf[lineEnd - 1] != '"') return null;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buf[lineStart + i] != prefix.charAt(i)) return null;
         }
-        finally {
-            IOUtils.closeQuietly(buffer);
-            IOUtils.closeQuietly(input);
+        for (int i = nameStart; i < lineEnd - 1; i++) {
+            if (buf[i] == '"') return null;
         }
-
-        this.resetChangedState();
+        return new String(buf, nameStart, lineEnd - 1 - nameStart);
     }
 
     public void save() {
@@ -921,24 +1195,13 @@ public class Configuration {
             }
 
             if (this.file.canWrite()) {
-                FileOutputStream fos = new FileOutputStream(this.file);
-                BufferedWriter buffer = new BufferedWriter(new OutputStreamWriter(fos, this.defaultEncoding));
-
-                buffer.write("# File Specification: https://gist.github.com/Shadows-of-Fire/88ac714a758636c57a52e32ace5474c1");
-                buffer.newLine();
-                buffer.newLine();
-                buffer.write(String.format("# %s", this.title != null ? this.title : "Configuration File"));
-                buffer.newLine();
-                buffer.newLine();
-                if (this.mainComment != null) {
-                    writeComment(buffer, this.mainComment);
-                    buffer.newLine();
-                    buffer.newLine();
+                byte[] contents = this.serialize();
+                if (this.asyncSave) {
+                    ConfigWriter.submit(this.file, contents);
+                }
+                else {
+                    ConfigWriter.write(this.file, contents);
                 }
-                this.save(buffer);
-
-                buffer.close();
-                fos.close();
             }
         }
         catch (IOException e) {
@@ -946,6 +1209,30 @@ public class Configuration {
         }
     }
 
+    /**
+     * Serializes this config into the text format, encoded with {@link #defaultEncoding}.
+     */
+    private byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BufferedWriter buffer = new BufferedWriter(new OutputStreamWriter(bytes, this.defaultEncoding));
+
+        buffer.write("# File Specification: https://gist.github.com/Shadows-of-Fire/88ac714a758636c57a52e32ace5474c1");
+        buffer.newLine();
+        buffer.newLine();
+        buffer.write(String.format("# %s", this.title != null ? this.title : "Configuration File"));
+        buffer.newLine();
+        buffer.newLine();
+        if (this.mainComment != null) {
+            writeComment(buffer, this.mainComment);
+            buffer.newLine();
+            buffer.newLine();
+        }
+        this.save(buffer);
+
+        buffer.close();
+        return bytes.toByteArray();
+    }
+
     public static void writeComment(BufferedWriter writer, String comment) throws IOException {
         if (comment == null || comment.isEmpty()) return;
         String[] split = comment.split("\\n");
@@ -965,9 +1252,13 @@ public class Configuration {
     }
 
     public ConfigCategory getCategory(String category) {
+        // Stored names are already normalized, so an exact hit can skip the lowercase copy.
+        ConfigCategory ret = this.categories.get(category);
+        if (ret != null) return ret;
+
         if (!this.caseSensitiveCustomCategories) category = category.toLowerCase(Locale.ENGLISH);
 
-        ConfigCategory ret = this.categories.get(category);
+        ret = this.categories.get(category);
 
         if (ret == null) {
             if (category.contains(CATEGORY_SPLITTER)) {
@@ -1011,6 +1302,7 @@ public class Configuration {
 
         if (this.categories.containsKey(category.getQualifiedName())) {
             this.categories.remove(category.getQualifiedName());
+            this.generation++;
             if (category.parent != null) {
                 category.parent.removeChild(category);
             }
@@ -1481,4 +1773,22 @@ public class Configuration {
     public File getConfigFile() {
         return this.file;
     }
+
+    /**
+     * Listener for property changes caused by hot reloading or server syncing.
+     *
+     * @see Configuration#setHotReload(boolean)
+     * @see ConfigSync#register(String, Configuration)
+     */
+    @FunctionalInterface
+    public static interface ChangeListener {
+
+        /**
+         * Called after a property's value has been updated by a hot reload or server sync.
+         *
+         * @param category The qualified name of the category containing the property.
+         * @param property The property, which already holds the new value.
+         */
+        void onPropertyChanged(String category, Property property);
+    }
 }
@@ -21,6 +21,11 @@ package dev.shadowsoffire.placebo.config;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.regex.Pattern;
 
 public class Property {
@@ -59,7 +64,7 @@ public class Property {
     private String value;
     private String defaultValue;
     private String comment;
-    private String[] values;
+    private volatile String[] values;
     private String[] defaultValues;
     private String[] validValues;
     private String langKey;
@@ -76,6 +81,17 @@ public class Property {
     private int maxListLength = -1;
     private final Type type;
     private boolean changed = false;
+    private boolean synced = false;
+
+    /**
+     * Pre-parsed copy of {@link #value}, refreshed whenever the value changes, so the typed getters do not need to parse on every call.
+     */
+    private volatile TypedValue typed;
+
+    /**
+     * Pre-parsed copy of {@link #defaultValue}, used by the typed getters without an explicit default.
+     */
+    private volatile TypedValue defaultTyped;
 
     public Property(String name, String value, Type type) {
         this(name, value, type, false, new String[0], name);
@@ -103,12 +119,14 @@ public class Property {
 
     Property(String name, String value, Type type, boolean read, String[] validValues, String langKey) {
         this.setName(name);
+        this.type = type;
         this.value = value;
+        this.typed = TypedValue.parse(value);
         this.values = new String[0];
-        this.type = type;
         this.wasRead = read;
         this.isList = false;
         this.defaultValue = value;
+        this.defaultTyped = this.typed;
         this.defaultValues = new String[0];
         this.validValues = validValues;
         this.isListLengthFixed = false;
@@ -142,10 +160,12 @@ public class Property {
         this.wasRead = read;
         this.isList = true;
         this.value = "";
+        this.typed = TypedValue.parse(this.value);
         this.defaultValue = "";
         for (String s : values)
             this.defaultValue += ", [" + s + "]";
         this.defaultValue = this.defaultValue.replaceFirst(", ", "");
+        this.defaultTyped = TypedValue.parse(this.defaultValue);
         this.defaultValues = Arrays.copyOf(values, values.length);
         this.validValues = validValues;
         this.isListLengthFixed = false;
@@ -216,6 +236,7 @@ public class Property {
      */
     public Property setToDefault() {
         this.value = this.defaultValue;
+        this.typed = this.defaultTyped;
         this.values = Arrays.copyOf(this.defaultValues, this.defaultValues.length);
         return this;
     }
@@ -293,6 +314,23 @@ public class Property {
         return this.requiresMcRestart;
     }
 
+    /**
+     * Sets whether or not this Property is server-authoritative. Synced properties of configs registered to {@link ConfigSync} are sent to
+     * clients on login, and the received values override the client's local values until it disconnects.
+     * Defaults to false.
+     */
+    public Property setSynced(boolean synced) {
+        this.synced = synced;
+        return this;
+    }
+
+    /**
+     * Gets whether or not this Property is server-authoritative.
+     */
+    public boolean isSynced() {
+        return this.synced;
+    }
+
     /**
      * Sets the maximum length of this list/array Property. Only important if isList() == true. If the current values array or default
      * values array is longer than the new maximum it will be resized. If calling both this method and setIsListLengthFixed(true), this
@@ -378,6 +416,7 @@ public class Property {
      */
     public Property setDefaultValue(String defaultValue) {
         this.defaultValue = defaultValue;
+        this.defaultTyped = TypedValue.parse(defaultValue);
         return this;
     }
 
@@ -391,6 +430,7 @@ public class Property {
         for (String s : defaultValues)
             this.defaultValue += ", [" + s + "]";
         this.defaultValue = this.defaultValue.replaceFirst(", ", "");
+        this.defaultTyped = TypedValue.parse(this.defaultValue);
         this.defaultValues = Arrays.copyOf(defaultValues, defaultValues.length);
         return this;
     }
@@ -561,7 +601,10 @@ public class Property {
      * @return The value
      */
     public int getInt() {
-        return this.getInt(Integer.parseInt(this.defaultValue));
+        TypedValue typed = this.typed;
+        if (typed.isInt) return typed.intValue;
+        TypedValue def = this.defaultTyped;
+        return def.isInt ? def.intValue : Integer.parseInt(this.defaultValue);
     }
 
     /**
@@ -573,12 +616,8 @@ public class Property {
      * @return The value
      */
     public int getInt(int _default) {
-        try {
-            return Integer.parseInt(this.value);
-        }
-        catch (NumberFormatException e) {
-            return _default;
-        }
+        TypedValue typed = this.typed;
+        return typed.isInt ? typed.intValue : _default;
     }
 
     /**
@@ -587,13 +626,7 @@ public class Property {
      * @return True if the type of the Property is an Integer
      */
     public boolean isIntValue() {
-        try {
-            Integer.parseInt(this.value);
-            return true;
-        }
-        catch (NumberFormatException e) {
-            return false;
-        }
+        return this.typed.isInt;
     }
 
     /**
@@ -603,7 +636,10 @@ public class Property {
      * @return The value
      */
     public long getLong() {
-        return this.getLong(Long.parseLong(this.defaultValue));
+        TypedValue typed = this.typed;
+        if (typed.isLong) return typed.longValue;
+        TypedValue def = this.defaultTyped;
+        return def.isLong ? def.longValue : Long.parseLong(this.defaultValue);
     }
 
     /**
@@ -615,12 +651,8 @@ public class Property {
      * @return The value
      */
     public long getLong(long _default) {
-        try {
-            return Long.parseLong(this.value);
-        }
-        catch (NumberFormatException e) {
-            return _default;
-        }
+        TypedValue typed = this.typed;
+        return typed.isLong ? typed.longValue : _default;
     }
 
     /**
@@ -629,13 +661,7 @@ public class Property {
      * @return True if the type of the Property is an Long
      */
     public boolean isLongValue() {
-        try {
-            Long.parseLong(this.value);
-            return true;
-        }
-        catch (NumberFormatException e) {
-            return false;
-        }
+        return this.typed.isLong;
     }
 
     /**
@@ -647,12 +673,8 @@ public class Property {
      * @return The value as a boolean, or the default
      */
     public boolean getBoolean(boolean _default) {
-        if (this.isBooleanValue()) {
-            return Boolean.parseBoolean(this.value);
-        }
-        else {
-            return _default;
-        }
+        TypedValue typed = this.typed;
+        return typed.isBoolean ? typed.booleanValue : _default;
     }
 
     /**
@@ -661,12 +683,8 @@ public class Property {
      * @return The value as a boolean, or the default
      */
     public boolean getBoolean() {
-        if (this.isBooleanValue()) {
-            return Boolean.parseBoolean(this.value);
-        }
-        else {
-            return Boolean.parseBoolean(this.defaultValue);
-        }
+        TypedValue typed = this.typed;
+        return typed.isBoolean ? typed.booleanValue : this.defaultTyped.booleanValue;
     }
 
     /**
@@ -675,7 +693,7 @@ public class Property {
      * @return True if it is a boolean value
      */
     public boolean isBooleanValue() {
-        return "true".equals(this.value.toLowerCase()) || "false".equals(this.value.toLowerCase());
+        return this.typed.isBoolean;
     }
 
     /**
@@ -684,13 +702,7 @@ public class Property {
      * @return True if the value can be converted to an double
      */
     public boolean isDoubleValue() {
-        try {
-            Double.parseDouble(this.value);
-            return true;
-        }
-        catch (NumberFormatException e) {
-            return false;
-        }
+        return this.typed.isDouble;
     }
 
     /**
@@ -702,12 +714,8 @@ public class Property {
      * @return The value
      */
     public double getDouble(double _default) {
-        try {
-            return Double.parseDouble(this.value);
-        }
-        catch (NumberFormatException e) {
-            return _default;
-        }
+        TypedValue typed = this.typed;
+        return typed.isDouble ? typed.doubleValue : _default;
     }
 
     /**
@@ -716,12 +724,40 @@ public class Property {
      * @return The value
      */
     public double getDouble() {
-        try {
-            return Double.parseDouble(this.value);
-        }
-        catch (NumberFormatException e) {
-            return Double.parseDouble(this.defaultValue);
-        }
+        TypedValue typed = this.typed;
+        if (typed.isDouble) return typed.doubleValue;
+        TypedValue def = this.defaultTyped;
+        return def.isDouble ? def.doubleValue : Double.parseDouble(this.defaultValue);
+    }
+
+    /**
+     * Creates a handle which reads the live int value of this property, following {@link #getInt()}.
+     * <p>
+     * The handle reads the pre-parsed value, so it is cheap enough to call from hot code such as tick handlers.
+     */
+    public IntSupplier intSupplier() {
+        return this::getInt;
+    }
+
+    /**
+     * Creates a handle which reads the live long value of this property, following {@link #getLong()}.
+     */
+    public LongSupplier longSupplier() {
+        return this::getLong;
+    }
+
+    /**
+     * Creates a handle which reads the live double value of this property, following {@link #getDouble()}.
+     */
+    public DoubleSupplier doubleSupplier() {
+        return this::getDouble;
+    }
+
+    /**
+     * Creates a handle which reads the live boolean value of this property, following {@link #getBoolean()}.
+     */
+    public BooleanSupplier booleanSupplier() {
+        return this::getBoolean;
     }
 
     public String[] getStringList() {
@@ -919,6 +955,7 @@ public class Property {
      */
     public Property setValue(String value) {
         this.value = value;
+        this.typed = TypedValue.parse(value);
         this.changed = true;
         return this;
     }
@@ -927,6 +964,29 @@ public class Property {
         this.setValue(value);
     }
 
+    /**
+     * Replaces the value of this Property with a value reloaded from disk, without marking it as changed.
+     *
+     * @return True if the value was different from the current value.
+     */
+    boolean reloadValue(String value) {
+        if (Objects.equals(this.value, value)) return false;
+        this.value = value;
+        this.typed = TypedValue.parse(value);
+        return true;
+    }
+
+    /**
+     * Replaces the values of this list Property with values reloaded from disk, without marking it as changed.
+     *
+     * @return True if the values were different from the current values.
+     */
+    boolean reloadValues(String[] values) {
+        if (Arrays.equals(this.values, values)) return false;
+        this.values = Arrays.copyOf(values, values.length);
+        return true;
+    }
+
     /**
      * Sets the values of this Property to the provided String[] values.
      */
@@ -1024,4 +1084,98 @@ public class Property {
     public void set(double value) {
         this.set(Double.toString(value));
     }
+
+    /**
+     * Immutable, pre-parsed view of a single property value. Replaced as a whole so that readers on other threads never observe a partial update.
+     */
+    private static final class TypedValue {
+
+        private static final TypedValue INVALID = new TypedValue(false, 0, false, 0, false, 0, false, false);
+
+        private final boolean isInt;
+        private final int intValue;
+        private final boolean isLong;
+        private final long longValue;
+        private final boolean isDouble;
+        private final double doubleValue;
+        private final boolean isBoolean;
+        private final boolean booleanValue;
+
+        private TypedValue(boolean isInt, int intValue, boolean isLong, long longValue, boolean isDouble, double doubleValue, boolean isBoolean, boolean booleanValue) {
+            this.isInt = isInt;
+            this.intValue = intValue;
+            this.isLong = isLong;
+            this.longValue = longValue;
+            this.isDouble = isDouble;
+            this.doubleValue = doubleValue;
+            this.isBoolean = isBoolean;
+            this.booleanValue = booleanValue;
+        }
+
+        /**
+         * Parses the value once, with the same results as parsing it with {@link Integer#parseInt}, {@link Long#parseLong} and
+         * {@link Double#parseDouble} on every call.
+         * <p>
+         * Values which are plainly integral are parsed once as a long, and reused as the int and double values. Every other value falls back
+         * to {@link Double#parseDouble}, regardless of the property type.
+         */
+        private static TypedValue parse(String value) {
+            if (value == null) {
+                return INVALID;
+            }
+
+            boolean isInt = false, isLong = false, isDouble = false;
+            int intValue = 0;
+            long longValue = 0;
+            double doubleValue = 0;
+
+            // Long#parseLong also accepts non-ASCII digits, which the scanner does not look for. Double#parseDouble does not accept them.
+            boolean integral = isIntegral(value);
+            if (integral || !isAscii(value)) {
+                try {
+                    longValue = Long.parseLong(value);
+                    isLong = true;
+                    isInt = longValue == (int) longValue;
+                    intValue = (int) longValue;
+                }
+                catch (NumberFormatException e) {}
+            }
+
+            if (isLong && integral) {
+                isDouble = true;
+                doubleValue = longValue;
+            }
+            else {
+                try {
+                    doubleValue = Double.parseDouble(value);
+                    isDouble = true;
+                }
+                catch (NumberFormatException e) {}
+            }
+
+            String lower = value.toLowerCase();
+            boolean isBoolean = "true".equals(lower) || "false".equals(lower);
+            return new TypedValue(isInt, intValue, isLong, longValue, isDouble, doubleValue, isBoolean, isBoolean && Boolean.parseBoolean(value));
+        }
+
+        /**
+         * Checks if the value is an optional sign followed by one or more decimal digits, which is the format accepted by {@link Long#parseLong}.
+         */
+        private static boolean isIntegral(String value) {
+            int start = !value.isEmpty() && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+            if (start == value.length()) return false;
+            for (int i = start; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') return false;
+            }
+            return true;
+        }
+
+        private static boolean isAscii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) > 127) return false;
+            }
+            return true;
+        }
+    }
 }
@@ -1,19 +1,27 @@
 package dev.shadowsoffire.placebo.menu;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Predicate;
 
 import dev.shadowsoffire.placebo.cap.InternalItemHandler;
 import dev.shadowsoffire.placebo.menu.QuickMoveHandler.QuickMoveMenu;
+import dev.shadowsoffire.placebo.menu.SimpleDataSlots.TrackedDataSlot;
+import dev.shadowsoffire.placebo.payloads.TrackedDataPayload;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundContainerSetDataPacket;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.ContainerListener;
+import net.minecraft.world.inventory.DataSlot;
 import net.minecraft.world.inventory.MenuType;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.network.PacketDistributor;
 
 /**
  * Implmentation of {@link AbstractContainerMenu} which has utilities for quick move and
@@ -21,13 +29,40 @@ import net.minecraft.world.level.Level;
 public abstract class PlaceboContainerMenu extends AbstractContainerMenu implements QuickMoveMenu {
 
     protected final Level level;
+    protected final Player player;
     protected final QuickMoveHandler mover = new QuickMoveHandler();
 
+    /**
+     * Tracked data slots, which are synced through {@link TrackedDataPayload} instead of vanilla's data slot packets.
+     */
+    protected final List<TrackedDataSlot> trackedSlots = new ArrayList<>();
+
+    /**
+     * The last values of {@link #trackedSlots} sent to the client. Only used on the server.
+     */
+    protected long[] trackedValues = new long[0];
+
+    /**
+     * The {@linkplain TrackedDataSlot#getVersion() versions} of {@link #trackedSlots} at the last sync. Only used on the server, for push mode slots.
+     */
+    protected int[] trackedVersions = new int[0];
+
+    /**
+     * Mirrors vanilla's private suppressRemoteUpdates flag, which pauses syncing of tracked data while a click is being handled.
+     */
+    protected boolean suppressTrackedUpdates;
+
+    /**
+     * Set while a full state broadcast is in progress, until the tracked data has been sent in full.
+     */
+    private boolean pendingFullSync;
+
     protected int playerInvStart = -1, hotbarStart = -1;
 
     protected PlaceboContainerMenu(MenuType<?> type, int id, Inventory pInv) {
         super(type, id);
         this.level = pInv.player.level();
+        this.player = pInv.player;
     }
 
     /**
@@ -54,8 +89,8 @@ public abstract class PlaceboContainerMenu extends AbstractContainerMenu impleme
         if (this.hotbarStart == -1 || this.playerInvStart == -1) {
             throw new UnsupportedOperationException("Attempted to register inv shuffle rules with no player inv slots.");
         }
-        this.mover.registerRule((stack, slot) -> slot >= this.hotbarStart, this.playerInvStart, this.hotbarStart);
-        this.mover.registerRule((stack, slot) -> slot >= this.playerInvStart, this.hotbarStart, this.slots.size());
+        this.mover.registerRangeRule(this.hotbarStart, Integer.MAX_VALUE, this.playerInvStart, this.hotbarStart, false);
+        this.mover.registerRangeRule(this.playerInvStart, Integer.MAX_VALUE, this.hotbarStart, this.slots.size(), false);
     }
 
     /**
@@ -74,6 +109,103 @@ public abstract class PlaceboContainerMenu extends AbstractContainerMenu impleme
         return super.moveItemStackTo(pStack, pStartIndex, pEndIndex, pReverseDirection);
     }
 
+    /**
+     * Adds a data slot to this menu. {@linkplain TrackedDataSlot Tracked slots} are synced by this menu, and are not seen by vanilla.
+     */
+    @Override
+    protected DataSlot addDataSlot(DataSlot slot) {
+        if (slot instanceof TrackedDataSlot tracked) {
+            this.trackedSlots.add(tracked);
+            return slot;
+        }
+        return super.addDataSlot(slot);
+    }
+
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        this.syncTrackedData(false);
+    }
+
+    @Override
+    public void sendAllDataToRemote() {
+        super.sendAllDataToRemote();
+        this.pendingFullSync = false;
+        this.syncTrackedData(true);
+    }
+
+    @Override
+    public void broadcastFullState() {
+        this.pendingFullSync = true;
+        super.broadcastFullState();
+        // Vanilla resends everything through sendAllDataToRemote. If that did not happen, resend the tracked data here.
+        if (this.pendingFullSync) {
+            this.pendingFullSync = false;
+            this.syncTrackedData(true);
+        }
+    }
+
+    @Override
+    public void suppressRemoteUpdates() {
+        super.suppressRemoteUpdates();
+        this.suppressTrackedUpdates = true;
+    }
+
+    @Override
+    public void resumeRemoteUpdates() {
+        super.resumeRemoteUpdates();
+        this.suppressTrackedUpdates = false;
+    }
+
+    /**
+     * Sends all tracked values which have changed since the last sync, or all of them if {@code full} is true, in a single payload.
+     * <p>
+     * Like vanilla data slots, incremental syncs are skipped while remote updates are suppressed, and the changes are sent once they resume.
+     */
+    protected void syncTrackedData(boolean full) {
+        if (this.trackedSlots.isEmpty() || !(this.player instanceof ServerPlayer sp)) return;
+        if (!full && this.suppressTrackedUpdates) return;
+        if (this.trackedValues.length != this.trackedSlots.size()) {
+            this.trackedValues = Arrays.copyOf(this.trackedValues, this.trackedSlots.size());
+            this.trackedVersions = Arrays.copyOf(this.trackedVersions, this.trackedSlots.size());
+            full = true;
+        }
+
+        List<TrackedDataPayload.Entry> changed = null;
+        for (int i = 0; i < this.trackedSlots.size(); i++) {
+            TrackedDataSlot slot = this.trackedSlots.get(i);
+            if (slot.isPush()) {
+                int version = slot.getVersion();
+                if (!full && version == this.trackedVersions[i]) continue;
+                this.trackedVersions[i] = version;
+            }
+            long bits = slot.getBits();
+            if (full || bits != this.trackedValues[i]) {
+                this.trackedValues[i] = bits;
+                if (changed == null) changed = new ArrayList<>();
+                changed.add(new TrackedDataPayload.Entry(i, slot.getKind(), bits));
+            }
+        }
+
+        if (changed != null) {
+            PacketDistributor.sendToPlayer(sp, new TrackedDataPayload(this.containerId, changed));
+        }
+    }
+
+    /**
+     * Applies tracked values received from the server.
+     * <p>
+     * This method is normally only called via {@link TrackedDataPayload}.
+     */
+    public void receiveTrackedData(List<TrackedDataPayload.Entry> entries) {
+        for (TrackedDataPayload.Entry entry : entries) {
+            if (entry.index() < this.trackedSlots.size()) {
+                TrackedDataSlot slot = this.trackedSlots.get(entry.index());
+                if (slot.getKind() == entry.kind()) slot.setBits(entry.bits());
+            }
+        }
+    }
+
     /**
      * Causes {@link ContainerListener#dataChanged(AbstractContainerMenu, int, int)} to be called on the client.
      * <p>
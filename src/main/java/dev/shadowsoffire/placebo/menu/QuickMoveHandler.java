@@ -3,7 +3,12 @@ package dev.shadowsoffire.placebo.menu;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.Slot;
@@ -14,7 +19,36 @@ import net.minecraft.world.item.ItemStack;
  */
 public class QuickMoveHandler {
 
-    protected List<QuickMoveRule> rules = new ArrayList<>();
+    private static final CompiledRule[][] EMPTY_TABLE = new CompiledRule[0][];
+
+    protected List<QuickMoveRule> rules = new RuleList();
+    protected boolean bulk = false;
+
+    /**
+     * Compiled rule table, mapping each source slot index to the rules whose source range contains it, in registration order.
+     * Built lazily, and rebuilt whenever {@link #rules} changes.
+     */
+    private CompiledRule[][] table = EMPTY_TABLE;
+
+    /**
+     * The rule list and its {@linkplain #getRulesVersion() version} that {@link #table} was compiled from.
+     */
+    private List<QuickMoveRule> compiledRules;
+    private int compiledVersion;
+
+    /**
+     * Enables or disables bulk transfers.
+     * <p>
+     * By default, each quick move behaves like {@link AbstractContainerMenu#moveItemStackTo}, which fills at most one empty slot per call and relies
+     * on vanilla repeatedly calling {@link AbstractContainerMenu#quickMoveStack} until the slot stops changing.
+     * <p>
+     * In bulk mode, the entire stack is moved in a single call. The target range is scanned once, merging into partial stacks as they are found and
+     * then filling the empty slots seen during the scan, with one {@link Slot#setChanged()} per affected slot. Vanilla will still call
+     * {@link #quickMoveStack} again while the source slot holds the same item, such as a crafting result slot producing another craft.
+     */
+    public void setBulkTransfer(boolean bulk) {
+        this.bulk = bulk;
+    }
 
     /**
      * Moves the stack in the specified slot index according to the quick move rules.
@@ -33,10 +67,12 @@ public class QuickMoveHandler {
             ItemStack slotStack = slot.getItem();
             slotStackCopy = slotStack.copy();
             boolean matched = false;
-            for (QuickMoveRule rule : this.rules) {
-                if (rule.req.test(slotStack, index) && slot.mayPickup(player)) {
+            for (CompiledRule compiled : this.getCandidates(index)) {
+                QuickMoveRule rule = compiled.rule;
+                if ((compiled.req == null || compiled.req.test(slotStack)) && slot.mayPickup(player)) {
                     // moveItemStackTo returns true if it successfully moved any amount of the item.
-                    if (!container.moveItemStackTo(slotStack, rule.startIdx, rule.endIdx, rule.reversed)) {
+                    boolean moved = this.bulk ? moveBulk(container, slotStack, rule.startIdx, rule.endIdx, rule.reversed) : container.moveItemStackTo(slotStack, rule.startIdx, rule.endIdx, rule.reversed);
+                    if (!moved) {
                         return ItemStack.EMPTY; // Aborting here means the move is impossible, as no transfer was accomplished with the matched rule.
                     }
                     slot.onTake(player, slotStack);
@@ -62,6 +98,50 @@ public class QuickMoveHandler {
         return slotStackCopy;
     }
 
+    /**
+     * Moves as much of the stack as possible into the target range in a single pass.
+     * <p>
+     * Follows the same placement order as {@link AbstractContainerMenu#moveItemStackTo}: partial stacks of the same item are filled first, followed
+     * by empty slots which {@linkplain Slot#mayPlace accept} the item, in iteration order.
+     *
+     * @return True if any amount of the stack was moved.
+     */
+    public static boolean moveBulk(QuickMoveMenu container, ItemStack stack, int startIdx, int endIdx, boolean reversed) {
+        int initial = stack.getCount();
+        boolean stackable = stack.isStackable();
+        IntList empties = null;
+
+        for (int n = 0; n < endIdx - startIdx && !stack.isEmpty(); n++) {
+            int i = reversed ? endIdx - 1 - n : startIdx + n;
+            Slot slot = container.getSlot(i);
+            ItemStack existing = slot.getItem();
+            if (existing.isEmpty()) {
+                if (slot.mayPlace(stack)) {
+                    if (empties == null) empties = new IntArrayList();
+                    empties.add(i);
+                }
+            }
+            else if (stackable && ItemStack.isSameItemSameComponents(stack, existing)) {
+                int space = slot.getMaxStackSize(stack) - existing.getCount();
+                if (space > 0) {
+                    int toMove = Math.min(space, stack.getCount());
+                    existing.grow(toMove);
+                    stack.shrink(toMove);
+                    slot.setChanged();
+                }
+            }
+        }
+
+        if (empties != null) {
+            for (int j = 0; j < empties.size() && !stack.isEmpty(); j++) {
+                Slot slot = container.getSlot(empties.getInt(j));
+                slot.setByPlayer(stack.split(Math.min(stack.getCount(), slot.getMaxStackSize(stack)))); // Runs player hooks and calls setChanged
+            }
+        }
+
+        return stack.getCount() != initial;
+    }
+
     /**
      * Registers a new {@link QuickMoveRule}.
      *
@@ -71,17 +151,129 @@ public class QuickMoveHandler {
      * @param reversed If true, the operation will attempt to place into endIdx and approach startIdx instead of start->end.
      */
     public void registerRule(BiPredicate<ItemStack, Integer> req, int startIdx, int endIdx, boolean reversed) {
-        this.rules.add(new QuickMoveRule(req, startIdx, endIdx, reversed));
+        this.addRule(new QuickMoveRule(req, startIdx, endIdx, reversed));
     }
 
     public void registerRule(BiPredicate<ItemStack, Integer> req, int startIdx, int endIdx) {
         this.registerRule(req, startIdx, endIdx, false);
     }
 
+    /**
+     * Registers a new {@link QuickMoveRule} which applies to all slots in a source range.
+     * <p>
+     * Range rules are resolved when the rule table is compiled, so matching them costs no predicate call.
+     *
+     * @param srcStart The (inclusive) start index of the source slot range this rule applies to.
+     * @param srcEnd   The (exclusive) end index of the source slot range this rule applies to.
+     * @param startIdx The (inclusive) start index of the target slot range to move to.
+     * @param endIdx   The (exclusive) end index of the target slot range to move to.
+     * @param reversed If true, the operation will attempt to place into endIdx and approach startIdx instead of start->end.
+     */
+    public void registerRangeRule(int srcStart, int srcEnd, int startIdx, int endIdx, boolean reversed) {
+        this.addRule(new QuickMoveRule(new RangeRequirement(srcStart, srcEnd, null), startIdx, endIdx, reversed));
+    }
+
+    /**
+     * Registers a new {@link QuickMoveRule} which applies to stacks matching the predicate in a source range.
+     *
+     * @param srcStart The (inclusive) start index of the source slot range this rule applies to.
+     * @param srcEnd   The (exclusive) end index of the source slot range this rule applies to.
+     * @param req      The check to determine if this rule applies to a given stack.
+     * @see #registerRangeRule(int, int, int, int, boolean)
+     */
+    public void registerRangeRule(int srcStart, int srcEnd, Predicate<ItemStack> req, int startIdx, int endIdx, boolean reversed) {
+        this.addRule(new QuickMoveRule(new RangeRequirement(srcStart, srcEnd, req), startIdx, endIdx, reversed));
+    }
+
+    protected void addRule(QuickMoveRule rule) {
+        this.rules.add(rule);
+    }
+
+    /**
+     * Returns the rules which may apply to the given source slot index, compiling the rule table if necessary.
+     */
+    private CompiledRule[] getCandidates(int index) {
+        CompiledRule[][] table = this.table;
+        if (this.compiledRules != this.rules || this.compiledVersion != this.getRulesVersion()) {
+            table = EMPTY_TABLE;
+        }
+        if (index >= table.length) {
+            this.compiledRules = this.rules;
+            this.compiledVersion = this.getRulesVersion();
+            table = this.table = this.compile(Math.max(index + 1, table.length * 2));
+        }
+        return table[index];
+    }
+
+    /**
+     * Returns a counter which changes whenever {@link #rules} is modified. If a subclass replaced the list, only its size is tracked.
+     */
+    private int getRulesVersion() {
+        return this.rules instanceof RuleList list ? list.getModCount() : this.rules.size();
+    }
+
+    private CompiledRule[][] compile(int size) {
+        CompiledRule[][] table = new CompiledRule[size][];
+        List<CompiledRule> candidates = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            for (QuickMoveRule rule : this.rules) {
+                CompiledRule compiled = CompiledRule.of(rule, i);
+                if (compiled != null) candidates.add(compiled);
+            }
+            table[i] = candidates.toArray(CompiledRule[]::new);
+            candidates.clear();
+        }
+        return table;
+    }
+
     protected record QuickMoveRule(BiPredicate<ItemStack, Integer> req, int startIdx, int endIdx, boolean reversed) {
 
     }
 
+    /**
+     * Requirement of rules registered via {@link #registerRangeRule}, which is resolved when the rule table is compiled.
+     *
+     * @param srcStart The (inclusive) start index of the source slot range.
+     * @param srcEnd   The (exclusive) end index of the source slot range.
+     * @param filter   The check to determine if the rule applies to a given stack, or null if it applies to every stack in the range.
+     */
+    protected record RangeRequirement(int srcStart, int srcEnd, @Nullable Predicate<ItemStack> filter) implements BiPredicate<ItemStack, Integer> {
+
+        @Override
+        public boolean test(ItemStack stack, Integer slot) {
+            return slot >= this.srcStart && slot < this.srcEnd && (this.filter == null || this.filter.test(stack));
+        }
+    }
+
+    /**
+     * Compiled form of a {@link QuickMoveRule} for a single source slot, with the slot index resolved out of the requirement.
+     */
+    private static record CompiledRule(QuickMoveRule rule, @Nullable Predicate<ItemStack> req) {
+
+        /**
+         * Compiles the rule for the given source slot, or returns null if it can never apply to that slot.
+         */
+        @Nullable
+        static CompiledRule of(QuickMoveRule rule, int slot) {
+            if (rule.req() instanceof RangeRequirement range) {
+                return slot >= range.srcStart() && slot < range.srcEnd() ? new CompiledRule(rule, range.filter()) : null;
+            }
+            BiPredicate<ItemStack, Integer> req = rule.req();
+            Integer boxed = slot;
+            return new CompiledRule(rule, stack -> req.test(stack, boxed));
+        }
+    }
+
+    /**
+     * Rule list which exposes its modification count, so that direct changes by subclasses invalidate the rule table.
+     */
+    private static class RuleList extends ArrayList<QuickMoveRule> {
+
+        int getModCount() {
+            return this.modCount;
+        }
+    }
+
     /**
      * Interface that must be implemented by menus that want to use {@link QuickMoveHandler}.
      */
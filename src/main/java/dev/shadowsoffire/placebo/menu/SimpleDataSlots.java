@@ -5,20 +5,49 @@ import java.util.List;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
 import java.util.function.IntSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 
+import dev.shadowsoffire.placebo.cap.AtomicEnergyStorage;
 import dev.shadowsoffire.placebo.cap.ModifiableEnergyStorage;
+import dev.shadowsoffire.placebo.payloads.TrackedDataPayload;
+import io.netty.buffer.ByteBuf;
 import it.unimi.dsi.fastutil.booleans.BooleanConsumer;
+import it.unimi.dsi.fastutil.floats.FloatConsumer;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.util.ByIdMap;
 import net.minecraft.world.inventory.DataSlot;
 import net.minecraft.world.level.block.entity.BlockEntity;
 
 /**
  * Simple DataSlot implementation that allows for lambda registration.
  * The other option is creation of anonymous classes.
+ * <p>
+ * Vanilla data slots are synced as 16-bit values, one packet per changed slot. {@linkplain TrackedDataSlot Tracked slots}, created via
+ * {@link #addInt}, {@link #addLong} and {@link #addFloat}, are instead synced at full width by {@link PlaceboContainerMenu}, which sends all
+ * changed tracked values in a single payload per tick.
+ * <p>
+ * By default, tracked slots are polled every tick. In push mode, they are only read after being {@linkplain TrackedDataSlot#markDirty() marked dirty},
+ * which makes idle slots free.
  */
 public class SimpleDataSlots {
 
     protected List<DataSlot> slots = new ArrayList<>();
+    protected final boolean push;
+
+    public SimpleDataSlots() {
+        this(false);
+    }
+
+    /**
+     * @param push If tracked slots created by this object are in push mode, meaning they are only checked for changes after being marked dirty.
+     */
+    public SimpleDataSlots(boolean push) {
+        this.push = push;
+    }
 
     public void addSlot(DataSlot slot) {
         this.slots.add(slot);
@@ -40,11 +69,72 @@ public class SimpleDataSlots {
         this.slots.forEach(consumer);
     }
 
+    /**
+     * Registers a full 32-bit int value for tracking.
+     */
+    public TrackedDataSlot addInt(IntSupplier getter, IntConsumer setter) {
+        TrackedDataSlot slot = new IntDataSlot(getter, setter);
+        this.addSlot(slot);
+        return slot;
+    }
+
+    /**
+     * Registers a 64-bit long value for tracking.
+     */
+    public TrackedDataSlot addLong(LongSupplier getter, LongConsumer setter) {
+        TrackedDataSlot slot = new LongDataSlot(getter, setter);
+        this.addSlot(slot);
+        return slot;
+    }
+
+    /**
+     * Registers a float value for tracking.
+     */
+    public TrackedDataSlot addFloat(FloatSupplier getter, FloatConsumer setter) {
+        TrackedDataSlot slot = new FloatDataSlot(getter, setter);
+        this.addSlot(slot);
+        return slot;
+    }
+
     /**
      * Registers an energy storage for tracking.
+     *
+     * @see #trackEnergy(ModifiableEnergyStorage)
      */
     public void addEnergy(ModifiableEnergyStorage energy) {
-        this.addSlot(new EnergyDataSlot(energy));
+        this.trackEnergy(energy);
+    }
+
+    /**
+     * Registers an energy storage for tracking, and returns the created slot.
+     * <p>
+     * The energy is synced as a full int, so values above {@link Short#MAX_VALUE} are not truncated.
+     * In push mode, the slot is checked whenever the storage's {@linkplain ModifiableEnergyStorage#getModCount() mod count} changes.
+     */
+    public TrackedDataSlot trackEnergy(ModifiableEnergyStorage energy) {
+        TrackedDataSlot slot = new EnergyDataSlot(energy);
+        this.addSlot(slot);
+        return slot;
+    }
+
+    /**
+     * Registers an atomic energy storage for tracking.
+     *
+     * @see #trackEnergy(AtomicEnergyStorage)
+     */
+    public void addEnergy(AtomicEnergyStorage energy) {
+        this.trackEnergy(energy);
+    }
+
+    /**
+     * Registers an atomic energy storage for tracking, and returns the created slot.
+     * <p>
+     * The energy is synced as a full long. In push mode, the slot is checked whenever the stored energy changes.
+     */
+    public TrackedDataSlot trackEnergy(AtomicEnergyStorage energy) {
+        TrackedDataSlot slot = new AtomicEnergyDataSlot(energy);
+        this.addSlot(slot);
+        return slot;
     }
 
     public class LambdaDataSlot extends DataSlot {
@@ -69,13 +159,195 @@ public class SimpleDataSlots {
 
     }
 
-    public class EnergyDataSlot extends LambdaDataSlot {
+    /**
+     * A data slot which holds a value wider than vanilla's 16 bits.
+     * <p>
+     * When added to a {@link PlaceboContainerMenu}, tracked slots bypass vanilla syncing and are sent at full width through {@link TrackedDataPayload}.
+     * When added to any other menu, they fall back to vanilla syncing of {@link #get()}, which truncates the value.
+     */
+    public abstract class TrackedDataSlot extends DataSlot {
+
+        private int version;
+
+        /**
+         * {@return the current value, encoded as raw bits}
+         */
+        public abstract long getBits();
+
+        /**
+         * Sets the current value from its raw bits, as produced by {@link #getBits()}.
+         */
+        public abstract void setBits(long bits);
+
+        /**
+         * {@return the kind of value this slot holds, which determines its wire encoding}
+         */
+        public abstract Kind getKind();
+
+        /**
+         * {@return true if this slot is only checked for changes after being marked dirty}
+         */
+        public boolean isPush() {
+            return SimpleDataSlots.this.push;
+        }
+
+        /**
+         * Marks this slot as changed, causing push mode menus to check it during their next sync.
+         * <p>
+         * Must be called on the server thread.
+         */
+        public void markDirty() {
+            this.version++;
+        }
+
+        /**
+         * {@return a counter which changes whenever this slot is marked dirty}
+         */
+        public int getVersion() {
+            return this.version;
+        }
+
+        @Override
+        public int get() {
+            return (int) this.getBits();
+        }
+
+        @Override
+        public void set(int pValue) {
+            this.setBits(pValue);
+        }
+    }
+
+    public class IntDataSlot extends TrackedDataSlot {
+
+        private final IntSupplier getter;
+        private final IntConsumer setter;
+
+        public IntDataSlot(IntSupplier getter, IntConsumer setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public long getBits() {
+            return this.getter.getAsInt();
+        }
+
+        @Override
+        public void setBits(long bits) {
+            this.setter.accept((int) bits);
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.INT;
+        }
+    }
+
+    public class LongDataSlot extends TrackedDataSlot {
+
+        private final LongSupplier getter;
+        private final LongConsumer setter;
+
+        public LongDataSlot(LongSupplier getter, LongConsumer setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public long getBits() {
+            return this.getter.getAsLong();
+        }
+
+        @Override
+        public void setBits(long bits) {
+            this.setter.accept(bits);
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.LONG;
+        }
+    }
+
+    public class FloatDataSlot extends TrackedDataSlot {
+
+        private final FloatSupplier getter;
+        private final FloatConsumer setter;
+
+        public FloatDataSlot(FloatSupplier getter, FloatConsumer setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public long getBits() {
+            return Float.floatToRawIntBits(this.getter.getAsFloat());
+        }
+
+        @Override
+        public void setBits(long bits) {
+            this.setter.accept(Float.intBitsToFloat((int) bits));
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.FLOAT;
+        }
+    }
+
+    /**
+     * Tracked slot for a {@link ModifiableEnergyStorage}.
+     * <p>
+     * Since 9.5.0, this extends {@link IntDataSlot} instead of {@link LambdaDataSlot}, so that it is synced at full width.
+     */
+    public class EnergyDataSlot extends IntDataSlot {
+
+        private final ModifiableEnergyStorage energy;
 
         public EnergyDataSlot(ModifiableEnergyStorage energy) {
             super(energy::getEnergyStored, energy::setEnergy);
+            this.energy = energy;
+        }
+
+        @Override
+        public int getVersion() {
+            return super.getVersion() + this.energy.getModCount();
         }
     }
 
+    public class AtomicEnergyDataSlot extends LongDataSlot {
+
+        private final AtomicEnergyStorage energy;
+
+        public AtomicEnergyDataSlot(AtomicEnergyStorage energy) {
+            super(energy::getEnergyLong, energy::setEnergy);
+            this.energy = energy;
+        }
+
+        @Override
+        public int getVersion() {
+            return super.getVersion() + this.energy.getModCount();
+        }
+    }
+
+    /**
+     * The kinds of values held by {@link TrackedDataSlot}s.
+     */
+    public static enum Kind {
+        INT,
+        LONG,
+        FLOAT;
+
+        public static final IntFunction<Kind> BY_ID = ByIdMap.continuous(Enum::ordinal, values(), ByIdMap.OutOfBoundsStrategy.ZERO);
+        public static final StreamCodec<ByteBuf, Kind> STREAM_CODEC = ByteBufCodecs.idMapper(BY_ID, Enum::ordinal);
+    }
+
+    @FunctionalInterface
+    public interface FloatSupplier {
+        float getAsFloat();
+    }
+
     /**
      * Implement this interface on a {@link BlockEntity} to allow it to automatically register data slots
      * to any {@link BlockEntityMenu}s that are opened with it.
@@ -0,0 +1,237 @@
+package dev.shadowsoffire.placebo.network;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import dev.shadowsoffire.placebo.Placebo;
+import dev.shadowsoffire.placebo.block_entity.TickingBlockEntity;
+import dev.shadowsoffire.placebo.payloads.BlockEntityDeltaPayload;
+import dev.shadowsoffire.placebo.payloads.BlockEntityResyncPayload;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.common.EventBusSubscriber.Bus;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.ChunkWatchEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+/**
+ * Implementation of delta syncing for {@link TickingBlockEntity#usesDeltaSync()}.
+ * <p>
+ * The server keeps the last update tag sent to each player for each block entity, grouped by chunk so that it can be dropped when the player
+ * stops watching the chunk. The client keeps the last tag it received, and rebuilds the full tag from each delta.
+ * <p>
+ * If the client receives a delta without a previous tag, it asks the server for a full update. The server also sends a full update every
+ * {@link #FULL_SYNC_INTERVAL} deltas, which bounds how long a client can stay out of sync if its copy is changed by other means.
+ * <p>
+ * Use {@link VanillaPacketDispatcher} to send updates, which will delegate here as needed.
+ */
+public class BlockEntityDeltaSync {
+
+    /**
+     * The number of deltas sent for a block entity to a player before the full update tag is sent again.
+     */
+    public static final int FULL_SYNC_INTERVAL = 100;
+
+    /**
+     * Last sent tags, keyed by player, then chunk, then block position. Only accessed on the server thread.
+     */
+    private static final Map<UUID, Long2ObjectMap<Long2ObjectMap<Sent>>> SENT = new HashMap<>();
+
+    /**
+     * Last received tags, keyed by chunk, then block position. Only accessed on the client thread.
+     */
+    private static final Long2ObjectMap<Long2ObjectMap<CompoundTag>> RECEIVED = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * {@return true if this block entity has opted into delta syncing}
+     */
+    public static boolean usesDeltaSync(BlockEntity tile) {
+        return tile instanceof TickingBlockEntity ticking && ticking.usesDeltaSync();
+    }
+
+    /**
+     * Sends the changes to the update tag of the block entity to each player since the last time it was sent to them.
+     * <p>
+     * Players without a previously sent tag, or who have received {@link #FULL_SYNC_INTERVAL} deltas since the last full tag, receive the full tag.
+     * Players whose tag has not changed receive nothing.
+     */
+    public static void send(ServerLevel level, BlockEntity tile, List<ServerPlayer> players) {
+        CompoundTag tag = tile.getUpdateTag(level.registryAccess());
+        long chunk = ChunkPos.asLong(tile.getBlockPos());
+        long pos = tile.getBlockPos().asLong();
+
+        for (ServerPlayer player : players) {
+            Long2ObjectMap<Sent> sent = SENT.computeIfAbsent(player.getUUID(), k -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(chunk, k -> new Long2ObjectOpenHashMap<>());
+
+            Sent last = sent.get(pos);
+            boolean full = last == null || last.deltas() >= FULL_SYNC_INTERVAL;
+            BlockEntityDeltaPayload payload = full ? new BlockEntityDeltaPayload(tile.getBlockPos(), true, tag, List.of()) : diff(tile, last.tag(), tag);
+            if (payload != null) {
+                // The stored tag is shared between all players, and is never modified after this point.
+                sent.put(pos, new Sent(tag, full ? 0 : last.deltas() + 1));
+                player.connection.send(payload);
+            }
+        }
+    }
+
+    /**
+     * Computes the delta between two update tags, or null if they are equal.
+     */
+    private static BlockEntityDeltaPayload diff(BlockEntity tile, CompoundTag last, CompoundTag current) {
+        CompoundTag changed = new CompoundTag();
+        for (String key : current.getAllKeys()) {
+            Tag value = current.get(key);
+            if (!value.equals(last.get(key))) {
+                changed.put(key, value);
+            }
+        }
+
+        List<String> removed = new ArrayList<>();
+        for (String key : last.getAllKeys()) {
+            if (!current.contains(key)) {
+                removed.add(key);
+            }
+        }
+
+        if (changed.isEmpty() && removed.isEmpty()) return null;
+        return new BlockEntityDeltaPayload(tile.getBlockPos(), false, changed, removed);
+    }
+
+    /**
+     * Forgets the last sent tag for a block entity and sends the full update tag to the player, if they are watching it.
+     */
+    @ApiStatus.Internal
+    public static void resync(ServerPlayer player, BlockPos pos) {
+        Long2ObjectMap<Long2ObjectMap<Sent>> sent = SENT.get(player.getUUID());
+        Long2ObjectMap<Sent> chunk = sent == null ? null : sent.get(ChunkPos.asLong(pos));
+        if (chunk != null) chunk.remove(pos.asLong());
+
+        ServerLevel level = player.serverLevel();
+        if (!level.isLoaded(pos)) return;
+        BlockEntity tile = level.getBlockEntity(pos);
+        if (tile != null && usesDeltaSync(tile) && level.getChunkSource().chunkMap.getPlayers(new ChunkPos(pos), false).contains(player)) {
+            send(level, tile, List.of(player));
+        }
+    }
+
+    /**
+     * Forgets the synced state of a block entity on the side it is on, so that the next update is sent in full.
+     * <p>
+     * Delta synced block entities should call this from {@link BlockEntity#setRemoved()}, so that the state of removed block entities is not kept
+     * until the chunk is unwatched.
+     */
+    public static void remove(BlockEntity tile) {
+        Level level = tile.getLevel();
+        if (level == null) return;
+        long chunk = ChunkPos.asLong(tile.getBlockPos());
+        long pos = tile.getBlockPos().asLong();
+        if (level.isClientSide) {
+            Long2ObjectMap<CompoundTag> received = RECEIVED.get(chunk);
+            if (received != null) received.remove(pos);
+        }
+        else {
+            for (Long2ObjectMap<Long2ObjectMap<Sent>> sent : SENT.values()) {
+                Long2ObjectMap<Sent> inChunk = sent.get(chunk);
+                if (inChunk != null) inChunk.remove(pos);
+            }
+        }
+    }
+
+    /**
+     * Applies a received delta to the client's copy of the update tag, and loads the result into the block entity.
+     */
+    @ApiStatus.Internal
+    public static void apply(Level level, BlockEntityDeltaPayload msg) {
+        Long2ObjectMap<CompoundTag> received = RECEIVED.computeIfAbsent(ChunkPos.asLong(msg.pos()), k -> new Long2ObjectOpenHashMap<>());
+        CompoundTag tag;
+        if (msg.full()) {
+            tag = msg.changed();
+        }
+        else {
+            CompoundTag last = received.get(msg.pos().asLong());
+            if (last == null) {
+                Placebo.LOGGER.debug("Received a block entity delta for {} without a previous full update, requesting a resync.", msg.pos());
+                PacketDistributor.sendToServer(new BlockEntityResyncPayload(msg.pos()));
+                return;
+            }
+            tag = last.copy();
+            msg.removed().forEach(tag::remove);
+            for (String key : msg.changed().getAllKeys()) {
+                tag.put(key, msg.changed().get(key));
+            }
+        }
+
+        BlockEntity tile = level.getBlockEntity(msg.pos());
+        if (tile == null) {
+            // The block entity is gone, so any later delta must be preceded by a resync.
+            received.remove(msg.pos().asLong());
+            return;
+        }
+        received.put(msg.pos().asLong(), tag);
+        tile.handleUpdateTag(tag.copy(), level.registryAccess());
+    }
+
+    /**
+     * A tag sent to a player, and the number of deltas sent since the last full tag.
+     */
+    private static record Sent(CompoundTag tag, int deltas) {}
+
+    @EventBusSubscriber(modid = Placebo.MODID, bus = Bus.GAME)
+    public static class Impl {
+
+        @SubscribeEvent
+        public static void unwatch(ChunkWatchEvent.UnWatch e) {
+            Long2ObjectMap<Long2ObjectMap<Sent>> sent = SENT.get(e.getPlayer().getUUID());
+            if (sent != null) sent.remove(e.getPos().toLong());
+        }
+
+        @SubscribeEvent
+        public static void changedDimension(PlayerEvent.PlayerChangedDimensionEvent e) {
+            SENT.remove(e.getEntity().getUUID());
+        }
+
+        @SubscribeEvent
+        public static void logout(PlayerEvent.PlayerLoggedOutEvent e) {
+            SENT.remove(e.getEntity().getUUID());
+        }
+
+        @SubscribeEvent
+        public static void stopped(ServerStoppedEvent e) {
+            SENT.clear();
+        }
+
+        @SubscribeEvent
+        public static void unloadChunk(ChunkEvent.Unload e) {
+            if (e.getLevel().isClientSide()) {
+                RECEIVED.remove(e.getChunk().getPos().toLong());
+            }
+        }
+
+        @SubscribeEvent
+        public static void unloadLevel(LevelEvent.Unload e) {
+            if (e.getLevel().isClientSide()) {
+                RECEIVED.clear();
+            }
+        }
+    }
+
+}
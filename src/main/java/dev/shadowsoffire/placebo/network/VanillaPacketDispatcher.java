@@ -1,19 +1,47 @@
 package dev.shadowsoffire.placebo.network;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dev.shadowsoffire.placebo.Placebo;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.minecraft.core.BlockPos;
+import net.minecraft.network.protocol.BundlerInfo;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.common.EventBusSubscriber.Bus;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
 
 public class VanillaPacketDispatcher {
 
     /**
      * Sends a {@link SUpdateTileEntityPacket} to all players watching this tile entity.
+     * <p>
+     * If the tile entity {@linkplain BlockEntityDeltaSync#usesDeltaSync uses delta syncing}, only the changed parts of its update tag are sent.
      */
     public static void dispatchTEToNearbyPlayers(BlockEntity tile) {
         ServerLevel world = (ServerLevel) tile.getLevel();
-        world.getChunkSource().chunkMap.getPlayers(new ChunkPos(tile.getBlockPos()), false).forEach(player -> {
+        List<ServerPlayer> players = world.getChunkSource().chunkMap.getPlayers(new ChunkPos(tile.getBlockPos()), false);
+        if (BlockEntityDeltaSync.usesDeltaSync(tile)) {
+            BlockEntityDeltaSync.send(world, tile, players);
+            return;
+        }
+        players.forEach(player -> {
             player.connection.send(tile.getUpdatePacket());
         });
     }
@@ -25,4 +53,88 @@ public class VanillaPacketDispatcher {
         BlockEntity tile = world.getBlockEntity(pos);
         if (tile != null) dispatchTEToNearbyPlayers(tile);
     }
+
+    /**
+     * Marks this tile entity as needing to be synced to all players watching it.
+     * <p>
+     * Unlike {@link #dispatchTEToNearbyPlayers(BlockEntity)}, no packet is built immediately. Instead, all tile entities scheduled during a tick
+     * are flushed at the end of their level's tick. Each tile entity is sent at most once per tick, and the updates for a chunk are sent to each
+     * player watching that chunk as a single bundle.
+     * <p>
+     * Must be called on the server thread.
+     */
+    public static void scheduleTESync(BlockEntity tile) {
+        if (tile.getLevel() instanceof ServerLevel world) {
+            Impl.PENDING.computeIfAbsent(world, k -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(ChunkPos.asLong(tile.getBlockPos()), k -> new ReferenceLinkedOpenHashSet<>())
+                .add(tile);
+        }
+    }
+
+    /**
+     * Marks the tile entity at this position as needing to be synced to all players watching it.
+     *
+     * @see #scheduleTESync(BlockEntity)
+     */
+    public static void scheduleTESync(Level world, BlockPos pos) {
+        BlockEntity tile = world.getBlockEntity(pos);
+        if (tile != null) scheduleTESync(tile);
+    }
+
+    @EventBusSubscriber(modid = Placebo.MODID, bus = Bus.GAME)
+    public static class Impl {
+
+        /**
+         * Tile entities pending a sync, grouped by level and then by chunk. Only accessed on the server thread.
+         */
+        private static final Map<ServerLevel, Long2ObjectMap<Set<BlockEntity>>> PENDING = new IdentityHashMap<>();
+
+        @SubscribeEvent
+        public static void tick(LevelTickEvent.Post e) {
+            if (e.getLevel() instanceof ServerLevel world) {
+                Long2ObjectMap<Set<BlockEntity>> chunks = PENDING.remove(world);
+                if (chunks != null) flush(world, chunks);
+            }
+        }
+
+        @SubscribeEvent
+        public static void unload(LevelEvent.Unload e) {
+            PENDING.remove(e.getLevel());
+        }
+
+        @SubscribeEvent
+        public static void stopped(ServerStoppedEvent e) {
+            PENDING.clear();
+        }
+
+        private static void flush(ServerLevel world, Long2ObjectMap<Set<BlockEntity>> chunks) {
+            for (Long2ObjectMap.Entry<Set<BlockEntity>> entry : chunks.long2ObjectEntrySet()) {
+                // Players are resolved at flush time, so anyone who stopped watching the chunk since the tile entity was scheduled is skipped.
+                List<ServerPlayer> players = world.getChunkSource().chunkMap.getPlayers(new ChunkPos(entry.getLongKey()), false);
+                if (players.isEmpty()) continue;
+
+                List<Packet<? super ClientGamePacketListener>> packets = new ArrayList<>(entry.getValue().size());
+                for (BlockEntity tile : entry.getValue()) {
+                    if (tile.isRemoved() || tile.getLevel() != world) continue;
+                    if (BlockEntityDeltaSync.usesDeltaSync(tile)) {
+                        BlockEntityDeltaSync.send(world, tile, players);
+                        continue;
+                    }
+                    Packet<ClientGamePacketListener> packet = tile.getUpdatePacket();
+                    if (packet != null) packets.add(packet);
+                }
+
+                if (packets.isEmpty()) continue;
+                if (packets.size() == 1 || packets.size() > BundlerInfo.BUNDLE_SIZE_LIMIT) {
+                    for (Packet<?> packet : packets) {
+                        players.forEach(player -> player.connection.send(packet));
+                    }
+                }
+                else {
+                    Packet<?> bundle = new ClientboundBundlePacket(packets);
+                    players.forEach(player -> player.connection.send(bundle));
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package dev.shadowsoffire.placebo.payloads;
+
+import java.util.List;
+import java.util.Optional;
+
+import dev.shadowsoffire.placebo.Placebo;
+import dev.shadowsoffire.placebo.block_entity.TickingBlockEntity;
+import dev.shadowsoffire.placebo.network.BlockEntityDeltaSync;
+import dev.shadowsoffire.placebo.network.PayloadProvider;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Sends a partial update tag for a {@linkplain TickingBlockEntity#usesDeltaSync() delta synced} block entity.
+ *
+ * @param pos     The position of the block entity.
+ * @param full    If true, the changed tag is the complete update tag and replaces the client's copy.
+ * @param changed The top-level keys which were added or changed since the last sync.
+ * @param removed The top-level keys which were removed since the last sync.
+ */
+public record BlockEntityDeltaPayload(BlockPos pos, boolean full, CompoundTag changed, List<String> removed) implements CustomPacketPayload {
+
+    public static final Type<BlockEntityDeltaPayload> TYPE = new Type<>(Placebo.loc("block_entity_delta"));
+
+    public static final StreamCodec<FriendlyByteBuf, BlockEntityDeltaPayload> CODEC = StreamCodec.composite(
+        BlockPos.STREAM_CODEC, BlockEntityDeltaPayload::pos,
+        ByteBufCodecs.BOOL, BlockEntityDeltaPayload::full,
+        ByteBufCodecs.TRUSTED_COMPOUND_TAG, BlockEntityDeltaPayload::changed,
+        ByteBufCodecs.STRING_UTF8.apply(ByteBufCodecs.list()), BlockEntityDeltaPayload::removed,
+        BlockEntityDeltaPayload::new);
+
+    @Override
+    public Type<BlockEntityDeltaPayload> type() {
+        return TYPE;
+    }
+
+    public static class Provider implements PayloadProvider<BlockEntityDeltaPayload> {
+
+        @Override
+        public Type<BlockEntityDeltaPayload> getType() {
+            return TYPE;
+        }
+
+        @Override
+        public StreamCodec<? super RegistryFriendlyByteBuf, BlockEntityDeltaPayload> getCodec() {
+            return CODEC;
+        }
+
+        @Override
+        public void handle(BlockEntityDeltaPayload msg, IPayloadContext ctx) {
+            BlockEntityDeltaSync.apply(ctx.player().level(), msg);
+        }
+
+        @Override
+        public List<ConnectionProtocol> getSupportedProtocols() {
+            return List.of(ConnectionProtocol.PLAY);
+        }
+
+        @Override
+        public Optional<PacketFlow> getFlow() {
+            return Optional.of(PacketFlow.CLIENTBOUND);
+        }
+
+        @Override
+        public String getVersion() {
+            return "1";
+        }
+    }
+
+}
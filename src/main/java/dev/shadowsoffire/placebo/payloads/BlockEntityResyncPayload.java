@@ -0,0 +1,74 @@
+package dev.shadowsoffire.placebo.payloads;
+
+import java.util.List;
+import java.util.Optional;
+
+import dev.shadowsoffire.placebo.Placebo;
+import dev.shadowsoffire.placebo.block_entity.TickingBlockEntity;
+import dev.shadowsoffire.placebo.network.BlockEntityDeltaSync;
+import dev.shadowsoffire.placebo.network.PayloadProvider;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Sent by the client when it receives a delta for a {@linkplain TickingBlockEntity#usesDeltaSync() delta synced} block entity that it has no
+ * previous update tag for. The server responds with the full update tag.
+ *
+ * @param pos The position of the block entity.
+ */
+public record BlockEntityResyncPayload(BlockPos pos) implements CustomPacketPayload {
+
+    public static final Type<BlockEntityResyncPayload> TYPE = new Type<>(Placebo.loc("block_entity_resync"));
+
+    public static final StreamCodec<FriendlyByteBuf, BlockEntityResyncPayload> CODEC = StreamCodec.composite(
+        BlockPos.STREAM_CODEC, BlockEntityResyncPayload::pos,
+        BlockEntityResyncPayload::new);
+
+    @Override
+    public Type<BlockEntityResyncPayload> type() {
+        return TYPE;
+    }
+
+    public static class Provider implements PayloadProvider<BlockEntityResyncPayload> {
+
+        @Override
+        public Type<BlockEntityResyncPayload> getType() {
+            return TYPE;
+        }
+
+        @Override
+        public StreamCodec<? super RegistryFriendlyByteBuf, BlockEntityResyncPayload> getCodec() {
+            return CODEC;
+        }
+
+        @Override
+        public void handle(BlockEntityResyncPayload msg, IPayloadContext ctx) {
+            if (ctx.player() instanceof ServerPlayer player) {
+                BlockEntityDeltaSync.resync(player, msg.pos());
+            }
+        }
+
+        @Override
+        public List<ConnectionProtocol> getSupportedProtocols() {
+            return List.of(ConnectionProtocol.PLAY);
+        }
+
+        @Override
+        public Optional<PacketFlow> getFlow() {
+            return Optional.of(PacketFlow.SERVERBOUND);
+        }
+
+        @Override
+        public String getVersion() {
+            return "1";
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package dev.shadowsoffire.placebo.payloads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import dev.shadowsoffire.placebo.Placebo;
+import dev.shadowsoffire.placebo.config.ConfigSync;
+import dev.shadowsoffire.placebo.network.PayloadProvider;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Sends the non-default values of all synced properties of a single config to the client.
+ *
+ * @see ConfigSync
+ */
+public record ConfigSyncPayload(String id, List<Entry> entries) implements CustomPacketPayload {
+
+    public static final Type<ConfigSyncPayload> TYPE = new Type<>(Placebo.loc("config_sync"));
+
+    public static final StreamCodec<FriendlyByteBuf, ConfigSyncPayload> CODEC = StreamCodec.of(ConfigSyncPayload::write, ConfigSyncPayload::read);
+
+    @Override
+    public Type<ConfigSyncPayload> type() {
+        return TYPE;
+    }
+
+    public static void write(FriendlyByteBuf buf, ConfigSyncPayload payload) {
+        buf.writeUtf(payload.id);
+        buf.writeVarInt(payload.entries.size());
+        for (Entry entry : payload.entries) {
+            buf.writeUtf(entry.category);
+            buf.writeUtf(entry.key);
+            buf.writeBoolean(entry.list);
+            buf.writeVarInt(entry.values.length);
+            for (String value : entry.values) {
+                buf.writeUtf(value);
+            }
+        }
+    }
+
+    public static ConfigSyncPayload read(FriendlyByteBuf buf) {
+        String id = buf.readUtf();
+        int size = buf.readVarInt();
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String category = buf.readUtf();
+            String key = buf.readUtf();
+            boolean list = buf.readBoolean();
+            String[] values = new String[buf.readVarInt()];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = buf.readUtf();
+            }
+            entries.add(new Entry(category, key, list, values));
+        }
+        return new ConfigSyncPayload(id, entries);
+    }
+
+    /**
+     * A single synced property value. Non-list properties always have exactly one value.
+     */
+    public static record Entry(String category, String key, boolean list, String[] values) {}
+
+    public static class Provider implements PayloadProvider<ConfigSyncPayload> {
+
+        @Override
+        public Type<ConfigSyncPayload> getType() {
+            return TYPE;
+        }
+
+        @Override
+        public StreamCodec<? super RegistryFriendlyByteBuf, ConfigSyncPayload> getCodec() {
+            return CODEC;
+        }
+
+        @Override
+        public void handle(ConfigSyncPayload msg, IPayloadContext ctx) {
+            ConfigSync.apply(msg);
+        }
+
+        @Override
+        public List<ConnectionProtocol> getSupportedProtocols() {
+            return List.of(ConnectionProtocol.PLAY);
+        }
+
+        @Override
+        public Optional<PacketFlow> getFlow() {
+            return Optional.of(PacketFlow.CLIENTBOUND);
+        }
+
+        @Override
+        public String getVersion() {
+            return "1";
+        }
+    }
+
+}
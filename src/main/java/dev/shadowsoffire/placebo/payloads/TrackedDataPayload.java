@@ -0,0 +1,108 @@
+package dev.shadowsoffire.placebo.payloads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import dev.shadowsoffire.placebo.Placebo;
+import dev.shadowsoffire.placebo.menu.PlaceboContainerMenu;
+import dev.shadowsoffire.placebo.menu.SimpleDataSlots.Kind;
+import dev.shadowsoffire.placebo.menu.SimpleDataSlots.TrackedDataSlot;
+import dev.shadowsoffire.placebo.network.PayloadProvider;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Sends all changed {@link TrackedDataSlot} values of a {@link PlaceboContainerMenu} in a single payload.
+ *
+ * @param containerId The id of the target menu.
+ * @param entries     The changed values, indexed by their position among the menu's tracked slots.
+ */
+public record TrackedDataPayload(int containerId, List<Entry> entries) implements CustomPacketPayload {
+
+    public static final Type<TrackedDataPayload> TYPE = new Type<>(Placebo.loc("tracked_data"));
+
+    public static final StreamCodec<FriendlyByteBuf, TrackedDataPayload> CODEC = StreamCodec.of(TrackedDataPayload::write, TrackedDataPayload::read);
+
+    @Override
+    public Type<TrackedDataPayload> type() {
+        return TYPE;
+    }
+
+    public static void write(FriendlyByteBuf buf, TrackedDataPayload payload) {
+        buf.writeVarInt(payload.containerId);
+        buf.writeVarInt(payload.entries.size());
+        for (Entry entry : payload.entries) {
+            buf.writeVarInt(entry.index);
+            Kind.STREAM_CODEC.encode(buf, entry.kind);
+            switch (entry.kind) {
+                case INT -> buf.writeVarInt((int) entry.bits);
+                case LONG -> buf.writeVarLong(entry.bits);
+                case FLOAT -> buf.writeInt((int) entry.bits);
+            }
+        }
+    }
+
+    public static TrackedDataPayload read(FriendlyByteBuf buf) {
+        int containerId = buf.readVarInt();
+        int size = buf.readVarInt();
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int index = buf.readVarInt();
+            Kind kind = Kind.STREAM_CODEC.decode(buf);
+            long bits = switch (kind) {
+                case INT -> buf.readVarInt();
+                case LONG -> buf.readVarLong();
+                case FLOAT -> buf.readInt();
+            };
+            entries.add(new Entry(index, kind, bits));
+        }
+        return new TrackedDataPayload(containerId, entries);
+    }
+
+    /**
+     * A single changed value, in the raw bit encoding of {@link TrackedDataSlot#getBits()}.
+     */
+    public static record Entry(int index, Kind kind, long bits) {}
+
+    public static class Provider implements PayloadProvider<TrackedDataPayload> {
+
+        @Override
+        public Type<TrackedDataPayload> getType() {
+            return TYPE;
+        }
+
+        @Override
+        public StreamCodec<? super RegistryFriendlyByteBuf, TrackedDataPayload> getCodec() {
+            return CODEC;
+        }
+
+        @Override
+        public void handle(TrackedDataPayload msg, IPayloadContext ctx) {
+            if (ctx.player().containerMenu instanceof PlaceboContainerMenu menu && menu.containerId == msg.containerId) {
+                menu.receiveTrackedData(msg.entries);
+            }
+        }
+
+        @Override
+        public List<ConnectionProtocol> getSupportedProtocols() {
+            return List.of(ConnectionProtocol.PLAY);
+        }
+
+        @Override
+        public Optional<PacketFlow> getFlow() {
+            return Optional.of(PacketFlow.CLIENTBOUND);
+        }
+
+        @Override
+        public String getVersion() {
+            return "1";
+        }
+    }
+
+}
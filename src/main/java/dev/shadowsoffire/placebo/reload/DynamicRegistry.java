@@ -27,6 +27,7 @@ import com.mojang.serialization.JsonOps;
 import dev.shadowsoffire.placebo.Placebo;
 import dev.shadowsoffire.placebo.codec.CodecMap;
 import dev.shadowsoffire.placebo.codec.CodecProvider;
+import dev.shadowsoffire.placebo.codec.RecordStreamCodecs;
 import dev.shadowsoffire.placebo.json.JsonUtil;
 import io.netty.handler.codec.CodecException;
 import net.minecraft.network.RegistryFriendlyByteBuf;
@@ -294,6 +295,20 @@ public abstract class DynamicRegistry<R extends CodecProvider<? super R>> extend
         registerCodec(key, codec, ByteBufCodecs.fromCodecWithRegistries(codec));
     }
 
+    /**
+     * Variant of {@link #registerCodec(ResourceLocation, Codec, StreamCodec)} for record subtypes, which {@linkplain RecordStreamCodecs derives}
+     * a compact stream codec from the record's components.
+     * <p>
+     * If the record has components which cannot be derived, the codec is wrapped as a stream codec instead.
+     *
+     * @param type The record class, which must be the exact type produced by the codec.
+     * @throws IllegalArgumentException if the type is not a record.
+     */
+    public final <T extends R> void registerCodec(ResourceLocation key, Class<T> type, Codec<T> codec) {
+        Preconditions.checkArgument(type.isRecord(), "Attempted to derive a " + this.path + " stream codec for non-record type " + type.getName());
+        this.registerCodec(key, codec, RecordStreamCodecs.deriveOrFallback(type, codec));
+    }
+
     /**
      * Registers a default codec for this registry. Only one default codec can be registered, and it cannot be changed.
      *
@@ -318,6 +333,18 @@ public abstract class DynamicRegistry<R extends CodecProvider<? super R>> extend
         registerDefaultCodec(key, codec, ByteBufCodecs.fromCodecWithRegistries(codec));
     }
 
+    /**
+     * Variant of {@link #registerDefaultCodec(ResourceLocation, Codec, StreamCodec)} for record types, which {@linkplain RecordStreamCodecs derives}
+     * a compact stream codec from the record's components.
+     *
+     * @param type The record class, which must be the exact type produced by the codec.
+     * @throws IllegalArgumentException if the type is not a record.
+     */
+    protected final <T extends R> void registerDefaultCodec(ResourceLocation key, Class<T> type, Codec<T> codec) {
+        Preconditions.checkArgument(type.isRecord(), "Attempted to derive a " + this.path + " stream codec for non-record type " + type.getName());
+        this.registerDefaultCodec(key, codec, RecordStreamCodecs.deriveOrFallback(type, codec));
+    }
+
     /**
      * Registers a ListenerCallback to this reload listener.
      */
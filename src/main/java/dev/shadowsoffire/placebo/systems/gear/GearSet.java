@@ -4,14 +4,17 @@ import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 
 import dev.shadowsoffire.placebo.codec.CodecProvider;
 import dev.shadowsoffire.placebo.json.WeightedItemStack;
 import dev.shadowsoffire.placebo.reload.WeightedDynamicRegistry.ILuckyWeighted;
+import dev.shadowsoffire.placebo.util.AliasTable;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.util.random.WeightedRandom;
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.LivingEntity;
 
@@ -20,6 +23,8 @@ import net.minecraft.world.entity.LivingEntity;
  * When applying a Gear Set to an entity, it randomly selects an item for each slot and applies it.
  * <p>
  * The list of potentials for a slot may be empty.
+ * <p>
+ * Sampling is done through a {@linkplain #compile() compiled form}, which is built once per instance and selects each slot's item in constant time.
  */
 public record GearSet(int weight, float quality, List<WeightedItemStack> mainhands, List<WeightedItemStack> offhands, List<WeightedItemStack> boots, List<WeightedItemStack> leggings, List<WeightedItemStack> chestplates,
     List<WeightedItemStack> helmets, List<String> tags) implements CodecProvider<GearSet>, ILuckyWeighted {
@@ -36,6 +41,11 @@ public record GearSet(int weight, float quality, List<WeightedItemStack> mainhan
         Codec.STRING.listOf().fieldOf("tags").forGetter(g -> g.tags))
         .apply(inst, GearSet::new));
 
+    /**
+     * Compiled forms, keyed by identity. Records cannot hold derived state, so it is kept here instead.
+     */
+    private static final LoadingCache<GearSet, Compiled> COMPILED = CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(Compiled::new));
+
     @Override
     public int getWeight() {
         return this.weight;
@@ -50,12 +60,21 @@ public record GearSet(int weight, float quality, List<WeightedItemStack> mainhan
      * Makes the entity wear this armor set. Returns the entity for convenience.
      */
     public LivingEntity apply(LivingEntity entity) {
-        for (EquipmentSlot slot : EquipmentSlot.values()) {
-            WeightedRandom.getRandomItem(entity.getRandom(), this.getPotentials(slot)).ifPresent(s -> s.apply(entity, slot));
-        }
-        return entity;
+        return this.compile().apply(entity);
     }
 
+    /**
+     * Returns the compiled form of this gear set, building it on first access.
+     * <p>
+     * {@link GearSetRegistry} compiles each set when it is loaded, so this is only a lookup for registered sets.
+     */
+    public Compiled compile() {
+        return COMPILED.getUnchecked(this);
+    }
+
+    /**
+     * Returns the potential items for the slot. Slots which gear sets cannot specify, such as {@link EquipmentSlot#BODY}, have no potentials.
+     */
     public List<WeightedItemStack> getPotentials(EquipmentSlot slot) {
         return switch (slot) {
             case MAINHAND -> this.mainhands;
@@ -64,7 +83,7 @@ public record GearSet(int weight, float quality, List<WeightedItemStack> mainhan
             case LEGS -> this.leggings;
             case CHEST -> this.chestplates;
             case HEAD -> this.helmets;
-            case BODY -> throw new UnsupportedOperationException("Invalid slot type: " + slot);
+            case BODY -> Collections.emptyList();
         };
     }
 
@@ -73,6 +92,50 @@ public record GearSet(int weight, float quality, List<WeightedItemStack> mainhan
         return CODEC;
     }
 
+    /**
+     * Compiled form of a {@link GearSet}, holding an {@link AliasTable} for each slot with potentials.
+     */
+    public static final class Compiled {
+
+        private static final EquipmentSlot[] SLOTS = EquipmentSlot.values();
+
+        private final EquipmentSlot[] slots;
+        private final AliasTable<WeightedItemStack>[] tables;
+
+        @SuppressWarnings("unchecked")
+        private Compiled(GearSet set) {
+            int count = 0;
+            AliasTable<WeightedItemStack>[] all = new AliasTable[SLOTS.length];
+            for (EquipmentSlot slot : SLOTS) {
+                AliasTable<WeightedItemStack> table = new AliasTable<>(set.getPotentials(slot));
+                if (!table.isEmpty()) {
+                    all[slot.ordinal()] = table;
+                    count++;
+                }
+            }
+
+            // Only slots with potentials are kept, so apply does not visit the others.
+            this.slots = new EquipmentSlot[count];
+            this.tables = new AliasTable[count];
+            for (int i = 0, j = 0; i < all.length; i++) {
+                if (all[i] != null) {
+                    this.slots[j] = SLOTS[i];
+                    this.tables[j++] = all[i];
+                }
+            }
+        }
+
+        /**
+         * Selects an item for each slot with potentials, and applies it to the entity. Returns the entity for convenience.
+         */
+        public LivingEntity apply(LivingEntity entity) {
+            for (int i = 0; i < this.slots.length; i++) {
+                this.tables[i].sample(entity.getRandom()).apply(entity, this.slots[i]);
+            }
+            return entity;
+        }
+    }
+
     public static class SetPredicate implements Predicate<GearSet> {
 
         public static final Codec<SetPredicate> CODEC = Codec.stringResolver(s -> s.key, SetPredicate::new);
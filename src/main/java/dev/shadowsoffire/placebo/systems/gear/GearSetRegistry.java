@@ -2,6 +2,7 @@ package dev.shadowsoffire.placebo.systems.gear;
 
 import dev.shadowsoffire.placebo.Placebo;
 import dev.shadowsoffire.placebo.reload.WeightedDynamicRegistry;
+import net.minecraft.resources.ResourceLocation;
 
 public class GearSetRegistry extends WeightedDynamicRegistry<GearSet> {
 
@@ -11,6 +12,12 @@ public class GearSetRegistry extends WeightedDynamicRegistry<GearSet> {
         super(Placebo.LOGGER, "gear_sets", false, false);
     }
 
+    @Override
+    protected void validateItem(ResourceLocation key, GearSet item) {
+        super.validateItem(key, item);
+        item.compile();
+    }
+
     @Override
     protected void registerBuiltinCodecs() {
         this.registerDefaultCodec(Placebo.loc("gear_set"), GearSet.CODEC);
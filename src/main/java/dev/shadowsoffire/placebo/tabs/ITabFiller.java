@@ -2,10 +2,17 @@ package dev.shadowsoffire.placebo.tabs;
 
 import java.util.function.Supplier;
 
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.item.CreativeModeTab;
+import net.minecraft.world.item.CreativeModeTab.ItemDisplayParameters;
 import net.minecraft.world.item.CreativeModeTab.Output;
+import net.minecraft.world.item.CreativeModeTab.TabVisibility;
 import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.ItemStackLinkedSet;
 import net.minecraft.world.level.ItemLike;
+import net.neoforged.neoforge.common.util.InsertableLinkedOpenCustomHashSet;
 import net.neoforged.neoforge.event.BuildCreativeModeTabContentsEvent;
 
 /**
@@ -29,7 +36,7 @@ public interface ITabFiller {
      * @return A new ITabFiller which will provide the item to all tabs it is invoked for.
      */
     static ITabFiller simple(ItemLike i) {
-        return (tab, output) -> output.accept(i.asItem().getDefaultInstance());
+        return (CacheableTabFiller) (tab, params, output) -> output.accept(i.asItem().getDefaultInstance());
     }
 
     /**
@@ -41,15 +48,106 @@ public interface ITabFiller {
      * @return A new ITabFiller which will delegate to the item or provide the item to all tabs it is invoked for.
      */
     static ITabFiller delegating(Supplier<? extends ItemLike> i) {
-        return (tab, output) -> {
-            Item item = i.get().asItem();
-            if (item instanceof ITabFiller filler) {
-                filler.fillItemCategory(tab, output);
+        return new ITabFiller() {
+
+            @Override
+            public void fillItemCategory(CreativeModeTab tab, BuildCreativeModeTabContentsEvent event) {
+                Item item = i.get().asItem();
+                if (item instanceof ITabFiller filler) {
+                    filler.fillItemCategory(tab, event);
+                }
+                else {
+                    event.accept(item.getDefaultInstance());
+                }
+            }
+
+            @Override
+            public boolean isCacheable() {
+                Item item = i.get().asItem();
+                return !(item instanceof ITabFiller filler) || filler.isCacheable();
             }
-            else {
-                output.accept(item.getDefaultInstance());
+
+            @Override
+            public boolean supportsParallelFill() {
+                return i.get().asItem() instanceof ITabFiller filler && filler.supportsParallelFill();
+            }
+
+            @Override
+            public void fillCached(CreativeModeTab tab, ItemDisplayParameters params, Output output) {
+                Item item = i.get().asItem();
+                if (item instanceof ITabFiller filler) {
+                    filler.fillCached(tab, params, output);
+                }
+                else {
+                    output.accept(item.getDefaultInstance());
+                }
             }
         };
     }
 
+    /**
+     * Checks if the output of this filler may be cached by {@link TabFillingRegistry}.
+     * <p>
+     * Cacheable fillers are invoked through {@link #fillCached} instead of {@link #fillItemCategory}, and are only invoked again when the
+     * display parameters of the tab change.
+     *
+     * @return True if the output of this filler only depends on the tab and its display parameters.
+     */
+    default boolean isCacheable() {
+        return false;
+    }
+
+    /**
+     * Checks if {@link #fillCached} may be called off-thread, in parallel with other fillers.
+     *
+     * @return True if this filler's cached output may be computed concurrently with other fillers.
+     */
+    default boolean supportsParallelFill() {
+        return false;
+    }
+
+    /**
+     * Fills a creative tab in a way which may be cached. Only called if {@link #isCacheable()} returns true.
+     * <p>
+     * The output must only depend on the tab and the display parameters. This method is only called off-thread if {@link #supportsParallelFill()} returns true.
+     * <p>
+     * By default, this runs {@link #fillItemCategory} against a detached contents event and forwards everything it adds to the output.
+     *
+     * @param tab    The current creative tab being filled.
+     * @param params The display parameters of the tab.
+     * @param output The output, used to add items to the tab.
+     */
+    default void fillCached(CreativeModeTab tab, ItemDisplayParameters params, Output output) {
+        ResourceKey<CreativeModeTab> key = BuiltInRegistries.CREATIVE_MODE_TAB.getResourceKey(tab).orElseThrow();
+        var parent = new InsertableLinkedOpenCustomHashSet<ItemStack>(ItemStackLinkedSet.TYPE_AND_TAG);
+        var search = new InsertableLinkedOpenCustomHashSet<ItemStack>(ItemStackLinkedSet.TYPE_AND_TAG);
+        this.fillItemCategory(tab, new BuildCreativeModeTabContentsEvent(tab, key, params, parent, search));
+        for (ItemStack stack : parent) {
+            output.accept(stack, search.contains(stack) ? TabVisibility.PARENT_AND_SEARCH_TABS : TabVisibility.PARENT_TAB_ONLY);
+        }
+        for (ItemStack stack : search) {
+            if (!parent.contains(stack)) output.accept(stack, TabVisibility.SEARCH_TAB_ONLY);
+        }
+    }
+
+    /**
+     * An {@link ITabFiller} whose output may be cached.
+     */
+    @FunctionalInterface
+    interface CacheableTabFiller extends ITabFiller {
+
+        @Override
+        void fillCached(CreativeModeTab tab, ItemDisplayParameters params, Output output);
+
+        @Override
+        default boolean isCacheable() {
+            return true;
+        }
+
+        @Override
+        default void fillItemCategory(CreativeModeTab tab, BuildCreativeModeTabContentsEvent event) {
+            this.fillCached(tab, event.getParameters(), event);
+        }
+    }
+
 }
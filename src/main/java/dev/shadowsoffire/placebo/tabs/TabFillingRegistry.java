@@ -6,22 +6,39 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import org.jetbrains.annotations.ApiStatus;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.core.Holder;
+import net.minecraft.core.HolderLookup;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.flag.FeatureFlagSet;
 import net.minecraft.world.item.CreativeModeTab;
+import net.minecraft.world.item.CreativeModeTab.ItemDisplayParameters;
+import net.minecraft.world.item.CreativeModeTab.TabVisibility;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.ItemLike;
 import net.neoforged.neoforge.event.BuildCreativeModeTabContentsEvent;
 
 /**
  * Class for managing the new method of filling creative tabs,
  * without having to bulk all the logic into one master method.
+ * <p>
+ * The output of {@linkplain ITabFiller#isCacheable() cacheable} fillers is recorded the first time a tab is filled, and replayed on later
+ * rebuilds until the tab's display parameters change or a new filler is registered to the tab.
  */
 public class TabFillingRegistry {
 
+    /**
+     * The minimum number of {@linkplain ITabFiller#supportsParallelFill() parallel-safe} fillers in a tab before they are run in parallel.
+     */
+    public static final int PARALLEL_THRESHOLD = 64;
+
     private static final Map<ResourceKey<CreativeModeTab>, List<ITabFiller>> FILLERS = new IdentityHashMap<>();
+    private static final Map<ResourceKey<CreativeModeTab>, CachedContents> CACHE = new IdentityHashMap<>();
 
     /**
      * Registers an {@link ITabFiller} for all passed creative tabs.
@@ -88,13 +105,88 @@ public class TabFillingRegistry {
         for (var item : items) registerInternal(tab, ITabFiller.delegating(item::value));
     }
 
+    /**
+     * Discards all cached tab contents, causing cacheable fillers to be invoked again on the next rebuild.
+     * <p>
+     * Called automatically when the client logs out, so that the cache does not keep the previous world's registries alive.
+     */
+    public static synchronized void invalidate() {
+        CACHE.clear();
+    }
+
     @ApiStatus.Internal
-    public static void fillTabs(BuildCreativeModeTabContentsEvent e) {
-        FILLERS.getOrDefault(e.getTabKey(), Collections.emptyList()).forEach(f -> f.fillItemCategory(e.getTab(), e));
+    public static synchronized void fillTabs(BuildCreativeModeTabContentsEvent e) {
+        List<ITabFiller> fillers = FILLERS.getOrDefault(e.getTabKey(), Collections.emptyList());
+        if (fillers.isEmpty()) return;
+
+        ItemDisplayParameters params = e.getParameters();
+        CachedContents cached = CACHE.get(e.getTabKey());
+        if (cached == null || !cached.matches(params)) {
+            cached = new CachedContents(params, record(e.getTab(), params, fillers));
+            CACHE.put(e.getTabKey(), cached);
+        }
+
+        for (int i = 0; i < fillers.size(); i++) {
+            List<Entry> entries = cached.entries()[i];
+            if (entries == null) {
+                fillers.get(i).fillItemCategory(e.getTab(), e);
+            }
+            else {
+                for (Entry entry : entries) {
+                    e.accept(entry.stack().copy(), entry.visibility());
+                }
+            }
+        }
     }
 
-    private static void registerInternal(ResourceKey<CreativeModeTab> tab, ITabFiller filler) {
+    /**
+     * Invokes all cacheable fillers and records their output. The result is indexed by filler, with null entries for fillers which must be run live.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Entry>[] record(CreativeModeTab tab, ItemDisplayParameters params, List<ITabFiller> fillers) {
+        List<Entry>[] entries = new List[fillers.size()];
+        IntList serial = new IntArrayList();
+        IntList parallel = new IntArrayList();
+        for (int i = 0; i < fillers.size(); i++) {
+            ITabFiller filler = fillers.get(i);
+            if (!filler.isCacheable()) continue;
+            (filler.supportsParallelFill() ? parallel : serial).add(i);
+        }
+
+        IntStream indices = parallel.intStream();
+        if (parallel.size() >= PARALLEL_THRESHOLD) indices = indices.parallel();
+        indices.forEach(i -> entries[i] = record(tab, params, fillers.get(i)));
+        for (int i : serial) {
+            entries[i] = record(tab, params, fillers.get(i));
+        }
+        return entries;
+    }
+
+    private static List<Entry> record(CreativeModeTab tab, ItemDisplayParameters params, ITabFiller filler) {
+        List<Entry> output = new ArrayList<>();
+        filler.fillCached(tab, params, (stack, visibility) -> output.add(new Entry(stack, visibility)));
+        return output;
+    }
+
+    private static synchronized void registerInternal(ResourceKey<CreativeModeTab> tab, ITabFiller filler) {
         FILLERS.computeIfAbsent(tab, k -> new ArrayList<>()).add(filler);
+        CACHE.remove(tab);
+    }
+
+    private static record Entry(ItemStack stack, TabVisibility visibility) {}
+
+    /**
+     * The recorded output of a tab's fillers, valid for a single set of display parameters.
+     */
+    private static record CachedContents(FeatureFlagSet flags, boolean hasPermissions, HolderLookup.Provider holders, List<Entry>[] entries) {
+
+        CachedContents(ItemDisplayParameters params, List<Entry>[] entries) {
+            this(params.enabledFeatures(), params.hasPermissions(), params.holders(), entries);
+        }
+
+        boolean matches(ItemDisplayParameters params) {
+            return this.flags.equals(params.enabledFeatures()) && this.hasPermissions == params.hasPermissions() && this.holders == params.holders();
+        }
     }
 
 }
@@ -0,0 +1,106 @@
+package dev.shadowsoffire.placebo.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.util.RandomSource;
+import net.minecraft.util.random.WeightedEntry;
+
+/**
+ * Immutable weighted sampler using Vose's alias method, which selects an entry in constant time regardless of the number of entries.
+ * <p>
+ * Produces the same distribution as {@link net.minecraft.util.random.WeightedRandom#getRandomItem}, but without the linear scan.
+ * Building the table is linear, so it should be built once and reused.
+ *
+ * @param <T> The type of the weighted entries.
+ */
+public class AliasTable<T extends WeightedEntry> {
+
+    private final Object[] entries;
+    private final int[] thresholds;
+    private final int[] aliases;
+    private final int totalWeight;
+
+    /**
+     * Builds a table from the given entries. Entries with a weight of zero are never selected.
+     */
+    public AliasTable(List<? extends T> list) {
+        List<T> nonZero = new ArrayList<>(list.size());
+        long total = 0;
+        for (T entry : list) {
+            int weight = entry.getWeight().asInt();
+            if (weight > 0) {
+                nonZero.add(entry);
+                total += weight;
+            }
+        }
+        if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Sum of weights must be <= " + Integer.MAX_VALUE);
+
+        int n = nonZero.size();
+        this.entries = nonZero.toArray();
+        this.thresholds = new int[n];
+        this.aliases = new int[n];
+        this.totalWeight = (int) total;
+
+        // Each column holds weight * n in units of the total weight, so a column is full when it reaches the total.
+        long[] scaled = new long[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0, largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (long) nonZero.get(i).getWeight().asInt() * n;
+            if (scaled[i] < total) small[smallSize++] = i;
+            else large[largeSize++] = i;
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int s = small[--smallSize];
+            int l = large[--largeSize];
+            this.thresholds[s] = (int) scaled[s];
+            this.aliases[s] = l;
+            scaled[l] -= total - scaled[s];
+            if (scaled[l] < total) small[smallSize++] = l;
+            else large[largeSize++] = l;
+        }
+
+        // Any remaining columns are full, and always select themselves.
+        while (largeSize > 0) {
+            int l = large[--largeSize];
+            this.thresholds[l] = this.totalWeight;
+            this.aliases[l] = l;
+        }
+        while (smallSize > 0) {
+            int s = small[--smallSize];
+            this.thresholds[s] = this.totalWeight;
+            this.aliases[s] = s;
+        }
+    }
+
+    /**
+     * Selects a random entry.
+     *
+     * @return The selected entry, or null if the table is empty.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T sample(RandomSource rand) {
+        if (this.entries.length == 0) return null;
+        int column = rand.nextInt(this.entries.length);
+        int selected = rand.nextInt(this.totalWeight) < this.thresholds[column] ? column : this.aliases[column];
+        return (T) this.entries[selected];
+    }
+
+    /**
+     * {@return true if this table has no entries with a non-zero weight}
+     */
+    public boolean isEmpty() {
+        return this.entries.length == 0;
+    }
+
+    public int getTotalWeight() {
+        return this.totalWeight;
+    }
+
+}
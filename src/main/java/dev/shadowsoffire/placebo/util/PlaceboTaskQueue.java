@@ -1,12 +1,27 @@
 package dev.shadowsoffire.placebo.util;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.tuple.Pair;
 
+import javax.annotation.Nullable;
+
 import dev.shadowsoffire.placebo.Placebo;
+import dev.shadowsoffire.placebo.PlaceboConfig;
+import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
@@ -19,14 +34,23 @@ import net.neoforged.neoforge.event.tick.ServerTickEvent;
  * Helper class for scheduling transient tick-based tasks on the server.
  * <p>
  * Do not use for critical functionality, since the queue is abandoned entirely if the game closes or crashes.
+ * <p>
+ * Tasks may be submitted and cancelled from any thread. Submissions are staged in a lock-free intake queue and begin executing on the next server tick.
  */
 public class PlaceboTaskQueue {
 
+    /**
+     * Executor which runs each submitted job on a new virtual thread.
+     * <p>
+     * Use this executor for async tasks which perform blocking I/O, instead of the shared background worker pool.
+     */
+    public static final ExecutorService VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
     /**
      * Submits a new task for immediate execution.
      */
     public static void submitTask(ResourceLocation id, Task task) {
-        Impl.TASKS.add(Pair.of(id, task));
+        Impl.INTAKE.add(Pair.of(id, task));
     }
 
     /**
@@ -35,7 +59,65 @@ public class PlaceboTaskQueue {
      * @param delay The delay, in ticks, before the task begins executing.
      */
     public static void submitDelayedTask(ResourceLocation id, int delay, Task task) {
-        Impl.TASKS.add(Pair.of(id, new DelayedTask(delay, task)));
+        Impl.INTAKE.add(Pair.of(id, new DelayedTask(delay, task)));
+    }
+
+    /**
+     * Submits a new async task, which computes on the shared background worker pool.
+     *
+     * @see #submitAsyncTask(ResourceLocation, Executor, Supplier, Consumer)
+     */
+    public static <T> void submitAsyncTask(ResourceLocation id, Supplier<T> compute, Consumer<T> apply) {
+        submitAsyncTask(id, Util.backgroundExecutor(), compute, apply);
+    }
+
+    /**
+     * Submits a new async task. The compute stage runs immediately on the given executor, and the result is applied on the server thread
+     * during the first tick after the compute stage finishes.
+     * <p>
+     * If the compute stage throws, the exception is logged and the apply stage is skipped.
+     *
+     * @param executor The executor to run the compute stage on. Use {@link #VIRTUAL_THREADS} for blocking I/O.
+     * @param compute  The compute stage. Must not touch game state, since it runs off-thread.
+     * @param apply    The apply stage, which receives the computed result on the server thread.
+     */
+    public static <T> void submitAsyncTask(ResourceLocation id, Executor executor, Supplier<T> compute, Consumer<T> apply) {
+        Impl.INTAKE.add(Pair.of(id, new AsyncTask<>(id, CompletableFuture.supplyAsync(compute, executor), apply)));
+    }
+
+    /**
+     * Cancels all tasks with the given ID which were submitted before this call.
+     * <p>
+     * Cancellation takes effect at the start of the next server tick. The results of cancelled async tasks are discarded, but compute stages
+     * that have already started will run to completion off-thread.
+     */
+    public static void cancelTask(ResourceLocation id) {
+        Impl.INTAKE.add(Pair.of(id, Impl.CANCEL));
+    }
+
+    /**
+     * Returns a read-only view of the execution statistics of all tasks that have run since the server started, or since the last call to
+     * {@link #resetStats()}.
+     * <p>
+     * Must only be accessed from the server thread.
+     */
+    public static Map<ResourceLocation, TaskStats> getStats() {
+        return Collections.unmodifiableMap(Impl.STATS);
+    }
+
+    /**
+     * Returns the execution statistics of tasks with the given ID, or null if no such task has run.
+     */
+    @Nullable
+    public static TaskStats getStats(ResourceLocation id) {
+        return Impl.STATS.get(id);
+    }
+
+    /**
+     * Clears all recorded execution statistics.
+     */
+    public static void resetStats() {
+        Impl.STATS.clear();
     }
 
     @FunctionalInterface
@@ -47,6 +129,11 @@ public class PlaceboTaskQueue {
          * @return The completion status, either {@link Status#RUNNING} to continue executing or {@link Status#COMPLETED} to stop.
          */
         Status execute();
+
+        /**
+         * Called when the task is removed from the queue without completing, either via {@link PlaceboTaskQueue#cancelTask} or server shutdown.
+         */
+        default void cancel() {}
     }
 
     public static enum Status {
@@ -58,6 +145,73 @@ public class PlaceboTaskQueue {
         }
     }
 
+    /**
+     * Action taken by the watchdog when a single execution of a task exceeds {@link PlaceboConfig#taskBudgetMicros}.
+     */
+    public static enum WatchdogAction {
+        /**
+         * Logs a warning, but allows the task to keep running.
+         */
+        LOG,
+        /**
+         * Logs a warning and removes the task from the queue.
+         */
+        TERMINATE;
+    }
+
+    /**
+     * Cumulative execution statistics for all tasks sharing a single ID.
+     */
+    public static class TaskStats {
+
+        private long executions;
+        private long totalNanos;
+        private long maxNanos;
+        private long overruns;
+
+        /**
+         * @return The number of times a task with this ID has been executed.
+         */
+        public long getExecutions() {
+            return this.executions;
+        }
+
+        /**
+         * @return The total time, in nanoseconds, spent executing tasks with this ID.
+         */
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        /**
+         * @return The longest single execution, in nanoseconds, of a task with this ID.
+         */
+        public long getMaxNanos() {
+            return this.maxNanos;
+        }
+
+        /**
+         * @return The number of executions which exceeded the watchdog budget.
+         */
+        public long getOverruns() {
+            return this.overruns;
+        }
+
+        /**
+         * @return The average time, in nanoseconds, of a single execution.
+         */
+        public long getAverageNanos() {
+            return this.executions == 0 ? 0 : this.totalNanos / this.executions;
+        }
+
+        private void record(long nanos) {
+            this.executions++;
+            this.totalNanos += nanos;
+            this.maxNanos = Math.max(this.maxNanos, nanos);
+        }
+
+    }
+
     private static class DelayedTask implements Task {
 
         private int delay;
@@ -76,21 +230,87 @@ public class PlaceboTaskQueue {
             return this.task.execute();
         }
 
+        @Override
+        public void cancel() {
+            this.task.cancel();
+        }
+
+    }
+
+    private static class AsyncTask<T> implements Task {
+
+        private final ResourceLocation id;
+        private final CompletableFuture<T> future;
+        private final Consumer<T> apply;
+
+        private AsyncTask(ResourceLocation id, CompletableFuture<T> future, Consumer<T> apply) {
+            this.id = id;
+            this.future = future;
+            this.apply = apply;
+        }
+
+        @Override
+        public Status execute() {
+            if (!this.future.isDone()) {
+                return Status.RUNNING;
+            }
+
+            T result;
+            try {
+                result = this.future.join();
+            }
+            catch (CompletionException ex) {
+                Placebo.LOGGER.error("An exception occurred while computing an async task with ID {}. It will be terminated.", this.id);
+                ex.getCause().printStackTrace();
+                return Status.COMPLETED;
+            }
+
+            this.apply.accept(result);
+            return Status.COMPLETED;
+        }
+
+        @Override
+        public void cancel() {
+            this.future.cancel(false);
+        }
+
     }
 
     @EventBusSubscriber(modid = Placebo.MODID, bus = Bus.GAME)
     public static class Impl {
 
+        /**
+         * Marker task which, when drained from the intake queue, cancels all queued tasks with the same ID.
+         */
+        private static final Task CANCEL = () -> Status.COMPLETED;
+
+        /**
+         * Multi-producer intake queue. Only the server thread consumes from this queue, when it is drained into {@link #TASKS}.
+         */
+        private static final Queue<Pair<ResourceLocation, Task>> INTAKE = new ConcurrentLinkedQueue<>();
         private static final Queue<Pair<ResourceLocation, Task>> TASKS = new ArrayDeque<>();
+        private static final Map<ResourceLocation, TaskStats> STATS = new HashMap<>();
 
         @SubscribeEvent
         public static void tick(ServerTickEvent.Post e) {
+            drainIntake();
             Iterator<Pair<ResourceLocation, Task>> it = TASKS.iterator();
             Pair<ResourceLocation, Task> current = null;
+            long budget = PlaceboConfig.taskBudgetMicros * 1000L;
             while (it.hasNext()) {
                 current = it.next();
                 try {
-                    if (current.getRight().execute().isCompleted()) {
+                    long start = System.nanoTime();
+                    Status status = current.getRight().execute();
+                    long elapsed = System.nanoTime() - start;
+
+                    TaskStats stats = STATS.computeIfAbsent(current.getLeft(), k -> new TaskStats());
+                    stats.record(elapsed);
+
+                    if (status.isCompleted()) {
+                        it.remove();
+                    }
+                    else if (budget > 0 && elapsed > budget && watchdog(current, stats, elapsed)) {
                         it.remove();
                     }
                 }
@@ -102,14 +322,63 @@ public class PlaceboTaskQueue {
             }
         }
 
+        /**
+         * Moves all pending submissions into the main task list, and applies any pending cancellations in submission order.
+         */
+        private static void drainIntake() {
+            Pair<ResourceLocation, Task> pair;
+            while ((pair = INTAKE.poll()) != null) {
+                if (pair.getRight() == CANCEL) {
+                    ResourceLocation id = pair.getLeft();
+                    TASKS.removeIf(p -> {
+                        if (p.getLeft().equals(id)) {
+                            p.getRight().cancel();
+                            return true;
+                        }
+                        return false;
+                    });
+                }
+                else {
+                    TASKS.add(pair);
+                }
+            }
+        }
+
+        /**
+         * Handles a task which exceeded the per-tick budget.
+         * <p>
+         * Warnings are only logged for the first overrun and every 100th overrun after that, to avoid flooding the log with a task that is slow every tick.
+         *
+         * @return True if the task should be terminated.
+         */
+        private static boolean watchdog(Pair<ResourceLocation, Task> task, TaskStats stats, long elapsed) {
+            boolean terminate = PlaceboConfig.taskWatchdogAction == WatchdogAction.TERMINATE;
+            if (terminate || stats.overruns % 100 == 0) {
+                Placebo.LOGGER.warn("Ticking task with ID {} took {}us, exceeding the budget of {}us (overrun {} times).{}", task.getLeft(), elapsed / 1000, PlaceboConfig.taskBudgetMicros,
+                    stats.overruns + 1, terminate ? " It will be terminated." : "");
+            }
+            stats.overruns++;
+            if (terminate) {
+                task.getRight().cancel();
+            }
+            return terminate;
+        }
+
         @SubscribeEvent
         public static void stopped(ServerStoppedEvent e) {
-            TASKS.clear();
+            clear();
         }
 
         @SubscribeEvent
         public static void started(ServerStartedEvent e) {
+            clear();
+        }
+
+        private static void clear() {
+            drainIntake();
+            TASKS.forEach(pair -> pair.getRight().cancel());
             TASKS.clear();
+            STATS.clear();
         }
     }
 
@@ -0,0 +1,76 @@
+package dev.shadowsoffire.placebo.cap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+public class AtomicEnergyStorageTest {
+
+    private static final int STORAGES = 8;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS = 1_000_000;
+
+    @Test
+    public void transferRespectsLimits() {
+        AtomicEnergyStorage from = new AtomicEnergyStorage(1000, 100, 30, 50);
+        AtomicEnergyStorage to = new AtomicEnergyStorage(100, 20, 100, 90);
+        assertEquals(10, AtomicEnergyStorage.transfer(from, to, 1000));
+        assertEquals(40, from.getEnergyLong());
+        assertEquals(100, to.getEnergyLong());
+        assertEquals(0, AtomicEnergyStorage.transfer(from, to, 1000));
+        assertEquals(0, AtomicEnergyStorage.transfer(to, to, 1000));
+        assertEquals(100, to.getEnergyLong());
+    }
+
+    @Test
+    public void concurrentTransfersConserveEnergy() throws InterruptedException {
+        // Small capacities with large rates, so that targets regularly fill up between the reservation and the extraction.
+        List<AtomicEnergyStorage> storages = new ArrayList<>();
+        for (int i = 0; i < STORAGES; i++) {
+            storages.add(new AtomicEnergyStorage(1000, 700, 700, i % 2 == 0 ? 1000 : 0));
+        }
+        long total = total(storages);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom rand = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                }
+                catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < TRANSFERS; i++) {
+                    AtomicEnergyStorage from = storages.get(rand.nextInt(STORAGES));
+                    AtomicEnergyStorage to = storages.get(rand.nextInt(STORAGES));
+                    AtomicEnergyStorage.transfer(from, to, rand.nextInt(1, 1000));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(total, total(storages));
+        for (AtomicEnergyStorage storage : storages) {
+            assertTrue(storage.getEnergyLong() >= 0 && storage.getEnergyLong() <= storage.getCapacityLong(), "Out of range: " + storage.getEnergyLong());
+            assertEquals(0, storage.reserved.get());
+        }
+    }
+
+    private static long total(List<AtomicEnergyStorage> storages) {
+        return storages.stream().mapToLong(AtomicEnergyStorage::getEnergyLong).sum();
+    }
+
+}
@@ -0,0 +1,128 @@
+package dev.shadowsoffire.placebo.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Round-trip conformance tests for the {@link Configuration} text parser, against the golden files in {@code src/test/resources/config}.
+ * <p>
+ * {@code golden.cfg} covers quoted keys and categories, {@code < >} lists (including special characters inside lists), {@code ~} markers,
+ * comments and nested categories. {@code golden_saved.cfg} is the expected output of loading and saving it, which matches the output of the
+ * line-based parser that preceded the single-pass parser.
+ */
+public class ConfigurationGoldenTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void parsesGoldenFile() throws IOException {
+        Configuration cfg = this.load("golden.cfg", resource("golden.cfg"));
+
+        assertEquals(new TreeSet<>(Arrays.asList("general", "general.nested", "quoted category", "cat.with.dots")), new TreeSet<>(cfg.getCategoryNames()));
+
+        ConfigCategory general = cfg.getCategory("general");
+        assertEquals(5, general.get("count").getInt());
+        assertEquals(Property.Type.INTEGER, general.get("count").getType());
+        assertEquals(0.5, general.get("ratio").getDouble());
+        assertTrue(general.get("enabled").getBoolean());
+        assertEquals("hello world = still the value", general.get("name").getString());
+
+        // Quoted keys
+        assertFalse(general.get("Clear Generic Trades").getBoolean(true));
+        assertEquals(-3, general.get("key with: colon").getInt());
+        assertEquals("v", cfg.getCategory("quoted category").get("q").getString());
+        assertEquals(3.14159, cfg.getCategory("cat.with.dots").get("pi value").getDouble());
+
+        // Lists
+        Property list = general.get("list");
+        assertTrue(list.isList());
+        assertArrayEquals(new String[] { "first", "# not a comment", "a=b {nested}", "padded", "x > not the end" }, list.getStringList());
+        assertArrayEquals(new int[] { 1, 2 }, general.get("numbers").getIntList());
+        assertArrayEquals(new String[0], general.get("empty").getStringList());
+
+        // Markers are ignored, and values keep everything after the first '='
+        ConfigCategory nested = cfg.getCategory("general.nested");
+        assertEquals("value # with a hash", nested.get("deep").getString());
+        assertEquals(1, nested.getValues().size());
+    }
+
+    @Test
+    public void savesGoldenFile() throws IOException {
+        Configuration cfg = this.load("golden.cfg", resource("golden.cfg"));
+        cfg.save();
+        assertEquals(resource("golden_saved.cfg"), this.read("golden.cfg"));
+    }
+
+    @Test
+    public void crlfMatchesLf() throws IOException {
+        String lf = resource("golden.cfg");
+        Configuration lfCfg = this.load("lf.cfg", lf);
+        Configuration crlfCfg = this.load("crlf.cfg", lf.replace("\n", "\r\n"));
+        Configuration crCfg = this.load("cr.cfg", lf.replace("\n", "\r"));
+        assertEquals(dump(lfCfg), dump(crlfCfg));
+        assertEquals(dump(lfCfg), dump(crCfg));
+    }
+
+    @Test
+    public void roundTripIsStable() throws IOException {
+        Configuration cfg = this.load("saved.cfg", resource("golden_saved.cfg"));
+        cfg.save();
+        assertEquals(resource("golden_saved.cfg"), this.read("saved.cfg"));
+        assertEquals(dump(this.load("golden.cfg", resource("golden.cfg"))), dump(cfg));
+    }
+
+    private Configuration load(String name, String contents) throws IOException {
+        Path file = this.dir.resolve(name);
+        Files.writeString(file, contents, StandardCharsets.UTF_8);
+        return new Configuration(file.toFile());
+    }
+
+    /**
+     * Reads a file from the temp dir, with line separators normalized to {@code \n} so that the comparison does not depend on the platform.
+     */
+    private String read(String name) throws IOException {
+        return Files.readString(this.dir.resolve(name), StandardCharsets.UTF_8).replace("\r\n", "\n");
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = ConfigurationGoldenTest.class.getResourceAsStream("/config/" + name)) {
+            assertNotNull(in, "Missing test resource " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        }
+    }
+
+    /**
+     * Dumps every property of the config, sorted by category and name, including its type and typed interpretations.
+     */
+    private static String dump(Configuration cfg) {
+        StringBuilder sb = new StringBuilder();
+        for (String catName : new TreeSet<>(cfg.getCategoryNames())) {
+            for (Map.Entry<String, Property> e : new TreeMap<>(cfg.getCategory(catName).getValues()).entrySet()) {
+                Property prop = e.getValue();
+                sb.append(catName).append('/').append(e.getKey()).append(':').append(prop.getType()).append('=');
+                sb.append(prop.isList() ? Arrays.toString(prop.getStringList()) : prop.getString());
+                sb.append(" int=").append(prop.isIntValue()).append(" double=").append(prop.isDoubleValue()).append(" bool=").append(prop.isBooleanValue());
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+}
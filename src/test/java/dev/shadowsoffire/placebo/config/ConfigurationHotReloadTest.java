@@ -0,0 +1,104 @@
+package dev.shadowsoffire.placebo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that hot reloads are parsed off-thread, but only applied to the live config by {@link Configuration#applyPendingReloads()}.
+ */
+public class ConfigurationHotReloadTest {
+
+    private static final int PROPERTIES = 2000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void reloadWhileRegistering() throws Exception {
+        Path file = this.dir.resolve("hot.cfg");
+        write(file, "general {\n    I:a=1\n}\n");
+        Configuration cfg = new Configuration(file.toFile());
+        Property a = cfg.get("general", "a", 1);
+
+        List<String> changed = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        cfg.addChangeListener((category, prop) -> {
+            changed.add(category + "/" + prop.getName() + "=" + prop.getString());
+            threads.add(Thread.currentThread());
+        });
+
+        write(file, "general {\n    I:a=2\n    I:p10=99\n}\n\nextra {\n    S:s=reloaded\n}\n");
+
+        // Parse the file repeatedly on another thread, as the watcher would, while this thread registers new properties and categories.
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread watcher = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    cfg.reloadFromDisk();
+                }
+            }
+            catch (Throwable t) {
+                error.set(t);
+            }
+        });
+        watcher.start();
+        for (int i = 0; i < PROPERTIES; i++) {
+            cfg.get("general", "p" + i, i);
+            cfg.get("cat" + i, "value", "default");
+        }
+        cfg.get("extra", "s", "default");
+        done.set(true);
+        watcher.join();
+        assertEquals(null, error.get());
+
+        // Nothing is applied until the game thread asks for it.
+        assertEquals(1, a.getInt());
+        assertEquals(10, cfg.get("general", "p10", 10).getInt());
+        assertTrue(changed.isEmpty());
+
+        cfg.reloadFromDisk();
+        Configuration.applyPendingReloads();
+        assertEquals(2, a.getInt());
+        assertEquals(99, cfg.get("general", "p10", 10).getInt());
+        assertEquals("reloaded", cfg.get("extra", "s", "default").getString());
+        assertEquals(List.of("general/a=2", "general/p10=99", "extra/s=reloaded"), changed);
+        for (Thread thread : threads) {
+            assertEquals(Thread.currentThread(), thread);
+        }
+
+        // A second apply has nothing left to do.
+        Configuration.applyPendingReloads();
+        assertEquals(3, changed.size());
+    }
+
+    @Test
+    public void malformedReloadIsDiscarded() throws IOException {
+        Path file = this.dir.resolve("broken.cfg");
+        write(file, "general {\n    I:a=1\n}\n");
+        Configuration cfg = new Configuration(file.toFile());
+        Property a = cfg.get("general", "a", 1);
+
+        write(file, "general {\n    I:a=2\n}\n}\n");
+        cfg.reloadFromDisk();
+        Configuration.applyPendingReloads();
+        assertEquals(1, a.getInt());
+    }
+
+    private static void write(Path file, String contents) throws IOException {
+        Files.writeString(file, contents, StandardCharsets.UTF_8);
+    }
+
+}
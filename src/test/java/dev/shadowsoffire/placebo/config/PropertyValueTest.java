@@ -0,0 +1,84 @@
+package dev.shadowsoffire.placebo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the pre-parsed typed getters of {@link Property} match parsing the raw value on every call, for every property type.
+ */
+public class PropertyValueTest {
+
+    private static final String[] VALUES = {
+        "0", "5", "-3", "+7", "2147483648", "-9223372036854775808", "99999999999999999999",
+        "0.5", "-1.5e3", ".5", "1.", "NaN", "-Infinity", "Infinity", "1.5f", "1d", "2F", "0x1.8p1", "0x10p0", " 3 ", "1_000",
+        "\u0661\u0662", "true", "FALSE", "True", "yes", "", "-", "e5", "hello"
+    };
+
+    @Test
+    public void matchesRawParsing() {
+        for (Property.Type type : new Property.Type[] { Property.Type.STRING, Property.Type.INTEGER, Property.Type.DOUBLE, Property.Type.BOOLEAN }) {
+            for (String value : VALUES) {
+                Property prop = new Property("test", value, type);
+                String desc = type + " '" + value + "'";
+                assertEquals(parses(() -> Integer.parseInt(value)), prop.isIntValue(), desc);
+                assertEquals(parses(() -> Long.parseLong(value)), prop.isLongValue(), desc);
+                assertEquals(parses(() -> Double.parseDouble(value)), prop.isDoubleValue(), desc);
+                assertEquals("true".equals(value.toLowerCase()) || "false".equals(value.toLowerCase()), prop.isBooleanValue(), desc);
+
+                assertEquals(intOr(value, -42), prop.getInt(-42), desc);
+                assertEquals(longOr(value, -42), prop.getLong(-42), desc);
+                assertEquals(doubleOr(value, -42), prop.getDouble(-42), desc);
+            }
+        }
+    }
+
+    @Test
+    public void reparsesOnSet() {
+        Property prop = new Property("test", "1", Property.Type.STRING);
+        prop.set("NaN");
+        assertEquals(false, prop.isIntValue());
+        assertEquals(true, Double.isNaN(prop.getDouble(0)));
+        prop.set("12");
+        assertEquals(12, prop.getInt(0));
+        assertEquals(12D, prop.getDouble(0));
+    }
+
+    private static boolean parses(Runnable parse) {
+        try {
+            parse.run();
+            return true;
+        }
+        catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static int intOr(String value, int def) {
+        try {
+            return Integer.parseInt(value);
+        }
+        catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    private static long longOr(String value, long def) {
+        try {
+            return Long.parseLong(value);
+        }
+        catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    private static double doubleOr(String value, double def) {
+        try {
+            return Double.parseDouble(value);
+        }
+        catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+}